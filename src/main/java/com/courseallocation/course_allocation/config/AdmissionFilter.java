@@ -0,0 +1,114 @@
+package com.courseallocation.course_allocation.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.courseallocation.course_allocation.dto.AdmissionTicketResponse;
+import com.courseallocation.course_allocation.dto.ApiResponse;
+import com.courseallocation.course_allocation.service.AdmissionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    public static final String TICKET_HEADER = "X-Admission-Ticket";
+
+    // Registration-rush write paths of EnrollmentController and StudentPortalController, as "METHOD pattern"
+    private static final List<String[]> GUARDED_PATHS = List.of(
+            new String[] {"POST", "/api/enrollments/enroll"},
+            new String[] {"DELETE", "/api/enrollments/*/drop"},
+            new String[] {"POST", "/api/student/enrollments/*/drop"}
+    );
+
+    private final AdmissionService admissionService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AdmissionFilter(AdmissionService admissionService, ObjectMapper objectMapper,
+            @Value("${admission.enabled:true}") boolean enabled) {
+        this.admissionService = admissionService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return GUARDED_PATHS.stream()
+                .noneMatch(guarded -> guarded[0].equals(request.getMethod()) && pathMatcher.match(guarded[1], path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Unauthenticated callers are rejected by authorization, they should not take a place in the queue
+        Long studentId = studentId();
+        if (studentId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String ticketId = request.getHeader(TICKET_HEADER);
+        boolean admitted = admissionService.isAdmitted(ticketId, studentId)
+                || (ticketId == null && admissionService.isQueueEmpty());
+
+        if (!admitted || !admissionService.acquire()) {
+            writeWaiting(response, ticketId != null
+                    ? ticketStatus(ticketId, studentId)
+                    : admissionService.issueTicket(studentId));
+            return;
+        }
+        if (ticketId != null && !admissionService.consume(ticketId)) {
+            admissionService.release();
+            writeWaiting(response, admissionService.issueTicket(studentId));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admissionService.release();
+        }
+    }
+
+    private AdmissionTicketResponse ticketStatus(String ticketId, Long studentId) {
+        try {
+            return admissionService.getTicketStatus(ticketId, studentId);
+        } catch (RuntimeException e) {
+            return admissionService.issueTicket(studentId);
+        }
+    }
+
+    private static Long studentId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof StudentPrincipal principal
+                ? principal.studentId()
+                : null;
+    }
+
+    private void writeWaiting(HttpServletResponse response, AdmissionTicketResponse ticket) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(TICKET_HEADER, ticket.getTicket());
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, ticket.getEstimatedWaitSeconds())));
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse<>(false, "Registration is busy, you are in the queue", ticket));
+    }
+}
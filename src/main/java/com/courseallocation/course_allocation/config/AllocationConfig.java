@@ -0,0 +1,17 @@
+package com.courseallocation.course_allocation.config;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AllocationConfig {
+
+    // Dedicated pool so a large allocation run does not starve the common pool used by request threads
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool allocationPool(@Value("${allocation.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
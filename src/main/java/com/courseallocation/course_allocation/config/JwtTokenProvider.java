@@ -1,8 +1,10 @@
 package com.courseallocation.course_allocation.config;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
@@ -10,28 +12,44 @@ import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.courseallocation.course_allocation.model.Student;
+import com.courseallocation.course_allocation.model.enums.UserRole;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long expiration;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    private final Long expiration;
+    // Both are immutable and thread-safe, so they are built once instead of per token
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache tokenCache;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration}") Long expiration,
+            VerifiedTokenCache tokenCache) {
+        this.expiration = expiration;
+        this.tokenCache = tokenCache;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    public String generateToken(Long studentId, String studentIdNumber) {
+    public String generateToken(Student student) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("studentId", studentId);
-        claims.put("studentIdNumber", studentIdNumber);
-        return createToken(claims, studentIdNumber);
+        claims.put("studentId", student.getId());
+        claims.put("studentIdNumber", student.getStudentId());
+        claims.put("yearOfStudy", student.getYearOfStudy());
+        claims.put("program", student.getProgram());
+        // Always present, so its absence marks a token issued before the standing claims existed
+        claims.put("creditsCompleted", student.getCreditsCompleted() != null ? student.getCreditsCompleted() : 0);
+        claims.put("gpa", student.getCurrentGPA());
+        claims.put("userId", student.getUser() != null ? student.getUser().getId() : null);
+        claims.put("role", student.getUser() != null && student.getUser().getRole() != null
+                ? student.getUser().getRole().name() : UserRole.STUDENT.name());
+        return createToken(claims, student.getStudentId());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -39,14 +57,55 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry in a single parse and returns the caller, or null when the token is
+     * invalid. Tokens issued before the profile claims existed yield a principal with only id and number set.
+     * A token seen before is answered from the verified-token cache without parsing.
+     */
+    public StudentPrincipal parsePrincipal(String token) {
+        StudentPrincipal cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims;
+        try {
+            claims = getAllClaimsFromToken(token);
+        } catch (Exception e) {
+            return null;
+        }
+        Long studentId = claims.get("studentId", Long.class);
+        if (studentId == null) {
+            return null;
+        }
+        String role = claims.get("role", String.class);
+        Object gpa = claims.get("gpa");
+        StudentPrincipal principal = new StudentPrincipal(
+                studentId,
+                claims.getSubject(),
+                claims.get("yearOfStudy", Integer.class),
+                claims.get("program", String.class),
+                claims.get("creditsCompleted", Integer.class),
+                gpa instanceof Number number ? number.doubleValue() : null,
+                role != null ? role : UserRole.STUDENT.name(),
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : Instant.EPOCH,
+                claims.get("userId", Long.class));
+        if (claims.getExpiration() != null) {
+            tokenCache.put(token, principal, claims.getExpiration().getTime());
+        }
+        return principal;
+    }
+
     public Long getStudentIdFromToken(String token) {
         Claims claims = getAllClaimsFromToken(token);
         return claims.get("studentId", Long.class);
@@ -66,11 +125,7 @@ public class JwtTokenProvider {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean isTokenExpired(String token) {
@@ -86,4 +141,3 @@ public class JwtTokenProvider {
         }
     }
 }
-
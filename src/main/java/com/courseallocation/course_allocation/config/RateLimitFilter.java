@@ -0,0 +1,88 @@
+package com.courseallocation.course_allocation.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.courseallocation.course_allocation.dto.ApiResponse;
+import com.courseallocation.course_allocation.service.RateLimitService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final Map<String, Route> routes;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public RateLimitFilter(RateLimitService rateLimitService, ObjectMapper objectMapper,
+            @Value("${rate-limit.enabled:true}") boolean enabled) {
+        // Login is keyed by client address since there is no principal yet; everything else by student
+        this.routes = Map.of(
+                "/api/auth/login", new Route("POST", rateLimitService.login(), false),
+                "/api/enrollments/enroll", new Route("POST", rateLimitService.enroll(), true));
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || route(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = route(request);
+        Object key = route.perStudent() ? studentId() : request.getRemoteAddr();
+        // Unauthenticated callers of student routes are rejected by authorization anyway
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.policy().tryAcquire(key);
+        if (waitNanos > 0) {
+            writeRejected(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route route(HttpServletRequest request) {
+        Route route = routes.get(request.getRequestURI().substring(request.getContextPath().length()));
+        return route != null && route.method().equals(request.getMethod()) ? route : null;
+    }
+
+    private static Long studentId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof StudentPrincipal principal
+                ? principal.studentId()
+                : null;
+    }
+
+    private void writeRejected(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse<>(false, "Too many requests, please retry later", null));
+    }
+
+    private record Route(String method, RateLimitService.Policy policy, boolean perStudent) {
+    }
+}
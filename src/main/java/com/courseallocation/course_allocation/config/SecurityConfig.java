@@ -8,14 +8,21 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final TokenAuthenticationFilter tokenAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final AdmissionFilter admissionFilter;
 
-    public SecurityConfig(TokenAuthenticationFilter tokenAuthenticationFilter) {
+    public SecurityConfig(TokenAuthenticationFilter tokenAuthenticationFilter, RateLimitFilter rateLimitFilter,
+            AdmissionFilter admissionFilter) {
         this.tokenAuthenticationFilter = tokenAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.admissionFilter = admissionFilter;
     }
 
     @Bean
@@ -24,13 +31,19 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/login").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/docs", "/swagger-ui.html").permitAll()
                         .requestMatchers("/api/students/**", "/api/courses/**", "/api/semesters/**", "/api/enrollments/**").hasRole("STUDENT")
                         .requestMatchers("/api/student/**").hasRole("STUDENT")
+                        .requestMatchers("/api/admin/export/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/students/*/force-logout").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(tokenAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(tokenAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, TokenAuthenticationFilter.class)
+                .addFilterAfter(admissionFilter, RateLimitFilter.class);
         return http.build();
     }
 }
@@ -0,0 +1,20 @@
+package com.courseallocation.course_allocation.config;
+
+import java.time.Instant;
+
+/**
+ * Authenticated caller as carried in the JWT claims. Built once per request by {@link TokenAuthenticationFilter}
+ * and injected into controllers with {@code @AuthenticationPrincipal}, so handlers neither re-parse the token
+ * nor load the student. Year, program, credits and GPA are as of token issue and refresh on the next login or token
+ * refresh; they are null for tokens issued before they were carried as claims.
+ * The token id (jti) and issue time identify the token for revocation; tokens issued before jti existed have none.
+ * The user id is null for tokens issued before it was carried as a claim.
+ */
+public record StudentPrincipal(Long studentId, String studentIdNumber, Integer yearOfStudy, String program,
+        Integer creditsCompleted, Double gpa, String role, String tokenId, Instant issuedAt, Long userId) {
+
+    // Whether the token carries the academic standing, so eligibility can be checked without loading the student
+    public boolean hasStanding() {
+        return creditsCompleted != null;
+    }
+}
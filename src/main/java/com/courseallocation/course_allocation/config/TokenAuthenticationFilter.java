@@ -1,14 +1,19 @@
 package com.courseallocation.course_allocation.config;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.courseallocation.course_allocation.model.enums.UserRole;
+import com.courseallocation.course_allocation.service.TokenRevocationService;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,9 +23,11 @@ import jakarta.servlet.http.HttpServletResponse;
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
 
-    public TokenAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public TokenAuthenticationFilter(JwtTokenProvider jwtTokenProvider, TokenRevocationService tokenRevocationService) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -28,22 +35,28 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             String token = authHeader.substring(7);
-            
-            if (jwtTokenProvider.validateToken(token)) {
-                Long studentId = jwtTokenProvider.getStudentIdFromToken(token);
-                
-                if (studentId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            studentId, null, java.util.Collections.singletonList(new SimpleGrantedAuthority("ROLE_STUDENT")));
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+            StudentPrincipal principal = jwtTokenProvider.parsePrincipal(token);
+
+            if (principal != null && !tokenRevocationService.isRevoked(principal)) {
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        principal, null, authorities(principal));
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
 
         filterChain.doFilter(request, response);
     }
-}
 
+    // Every token belongs to a student; the user's own role is granted alongside when it differs
+    private static List<GrantedAuthority> authorities(StudentPrincipal principal) {
+        SimpleGrantedAuthority student = new SimpleGrantedAuthority("ROLE_" + UserRole.STUDENT.name());
+        if (UserRole.STUDENT.name().equals(principal.role())) {
+            return List.of(student);
+        }
+        return List.of(student, new SimpleGrantedAuthority("ROLE_" + principal.role()));
+    }
+}
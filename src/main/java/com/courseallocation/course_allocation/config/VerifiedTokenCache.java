@@ -0,0 +1,171 @@
+package com.courseallocation.course_allocation.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.courseallocation.course_allocation.dto.TokenCacheStatsResponse;
+
+/**
+ * Principals of tokens whose signature has already been verified, keyed by a SHA-256 digest of the token so the
+ * bearer strings themselves are never held. An entry lives until the earlier of the token's own expiry and the
+ * configured TTL; past the size bound the oldest entries go first. Revocation paths evict through
+ * {@link #evict(String)} and {@link #evictStudent(Long)}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Insertion-ordered, so reads never restructure the map and the eldest entry is the first to evict
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+    private final LongAdder revokedEvictions = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize,
+            @Value("${jwt.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public StudentPrincipal get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        Key key = digest(token);
+        Entry entry;
+        lock.readLock().lock();
+        try {
+            entry = entries.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            lock.writeLock().lock();
+            try {
+                if (entries.remove(key, entry)) {
+                    expiredEvictions.increment();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal;
+    }
+
+    public void put(String token, StudentPrincipal principal, long tokenExpiresAt) {
+        if (maxSize <= 0) {
+            return;
+        }
+        long expiresAt = Math.min(tokenExpiresAt, System.currentTimeMillis() + ttlMillis);
+        Key key = digest(token);
+        lock.writeLock().lock();
+        try {
+            entries.put(key, new Entry(principal, expiresAt));
+            if (entries.size() > maxSize) {
+                evictOverflow();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void evict(String token) {
+        Key key = digest(token);
+        lock.writeLock().lock();
+        try {
+            if (entries.remove(key) != null) {
+                revokedEvictions.increment();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drops every cached token of the student; linear in the cache size, which is fine for the rare PIN change
+    public void evictStudent(Long studentId) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().principal.studentId().equals(studentId)) {
+                    it.remove();
+                    revokedEvictions.increment();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public TokenCacheStatsResponse getStats() {
+        int size;
+        lock.readLock().lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return new TokenCacheStatsResponse(size, maxSize, hitCount, missCount,
+                lookups > 0 ? (double) hitCount / lookups : 0.0,
+                sizeEvictions.sum(), expiredEvictions.sum(), revokedEvictions.sum());
+    }
+
+    // Entries go eldest first; with a fixed TTL those are also the ones closest to expiry
+    private void evictOverflow() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            boolean expired = it.next().expiresAt <= now;
+            it.remove();
+            (expired ? expiredEvictions : sizeEvictions).increment();
+        }
+    }
+
+    private static Key digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < 8; i++) {
+                high = (high << 8) | (hash[i] & 0xff);
+                low = (low << 8) | (hash[i + 8] & 0xff);
+            }
+            return new Key(high, low);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // The first 128 bits of the digest; a collision would need a SHA-256 second preimage
+    private record Key(long high, long low) {
+    }
+
+    private record Entry(StudentPrincipal principal, long expiresAt) {
+    }
+}
@@ -1,5 +1,10 @@
 package com.courseallocation.course_allocation.controller;
 
+import java.util.List;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -7,13 +12,27 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.courseallocation.course_allocation.config.VerifiedTokenCache;
+import com.courseallocation.course_allocation.dto.AllocationResultResponse;
 import com.courseallocation.course_allocation.dto.ApiResponse;
+import com.courseallocation.course_allocation.dto.AuditStatsResponse;
+import com.courseallocation.course_allocation.dto.CredentialStatsResponse;
 import com.courseallocation.course_allocation.dto.EnrollmentResponse;
 import com.courseallocation.course_allocation.dto.ForceEnrollmentRequest;
+import com.courseallocation.course_allocation.dto.RateLimitStatsResponse;
 import com.courseallocation.course_allocation.dto.SystemStatisticsResponse;
+import com.courseallocation.course_allocation.dto.TokenCacheStatsResponse;
 import com.courseallocation.course_allocation.service.AdminService;
+import com.courseallocation.course_allocation.service.AllocationService;
+import com.courseallocation.course_allocation.service.AuditService;
+import com.courseallocation.course_allocation.service.CredentialService;
+import com.courseallocation.course_allocation.service.ExportService;
+import com.courseallocation.course_allocation.service.RateLimitService;
+import com.courseallocation.course_allocation.service.TokenRevocationService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,6 +46,13 @@ import lombok.RequiredArgsConstructor;
 public class AdminController {
 
     private final AdminService adminService;
+    private final AllocationService allocationService;
+    private final ExportService exportService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final CredentialService credentialService;
+    private final RateLimitService rateLimitService;
+    private final AuditService auditService;
 
     @GetMapping("/statistics")
     @Operation(summary = "Get system statistics", description = "Retrieve overall system statistics and metrics")
@@ -40,6 +66,46 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/token-cache")
+    @Operation(summary = "Get token cache statistics", description = "Hit rate, size and evictions of the verified-token cache")
+    public ResponseEntity<ApiResponse<TokenCacheStatsResponse>> getTokenCacheStatistics() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Token cache statistics retrieved",
+                verifiedTokenCache.getStats()));
+    }
+
+    @GetMapping("/credentials/stats")
+    @Operation(summary = "Get credential hashing statistics", description = "Work factor, queue depth and hash-time histograms of PIN hashing")
+    public ResponseEntity<ApiResponse<CredentialStatsResponse>> getCredentialStatistics() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Credential hashing statistics retrieved",
+                credentialService.getStats()));
+    }
+
+    @GetMapping("/rate-limits")
+    @Operation(summary = "Get rate limit statistics", description = "Tracked callers, allowed and rejected requests per rate limit policy")
+    public ResponseEntity<ApiResponse<List<RateLimitStatsResponse>>> getRateLimitStatistics() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Rate limit statistics retrieved",
+                rateLimitService.getStats()));
+    }
+
+    @GetMapping("/audit/stats")
+    @Operation(summary = "Get audit writer statistics", description = "Buffered, written, dropped and failed audit events of the asynchronous audit writer")
+    public ResponseEntity<ApiResponse<AuditStatsResponse>> getAuditStatistics() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Audit writer statistics retrieved",
+                auditService.getStats()));
+    }
+
+    @PostMapping("/students/{studentId}/force-logout")
+    @Operation(summary = "Force logout student", description = "Revoke every token issued to the student so far")
+    public ResponseEntity<ApiResponse<Void>> forceLogout(@PathVariable Long studentId) {
+        try {
+            tokenRevocationService.revokeStudent(studentId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Student logged out on all devices", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @PostMapping("/enrollments/force-enroll")
     @Operation(summary = "Force enroll student", description = "Force enroll a student bypassing all rules and capacity limits")
     public ResponseEntity<ApiResponse<EnrollmentResponse>> forceEnroll(
@@ -78,4 +144,48 @@ public class AdminController {
                     .body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
+
+    @PostMapping("/allocation/run")
+    @Operation(summary = "Run course allocation", description = "Allocate seats to all pending enrollment requests of a semester by priority, waitlisting the overflow")
+    public ResponseEntity<ApiResponse<AllocationResultResponse>> runAllocation(@RequestParam Long semesterId) {
+        try {
+            AllocationResultResponse result = allocationService.runAllocation(semesterId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Allocation completed", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping(value = "/export/students", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export students", description = "Stream every student as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        return ndjson("students", exportService::exportStudents);
+    }
+
+    @GetMapping(value = "/export/courses", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export courses", description = "Stream every course with live seat counts as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportCourses() {
+        return ndjson("courses", exportService::exportCourses);
+    }
+
+    @GetMapping(value = "/export/enrollments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export enrollments", description = "Stream every enrollment as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments() {
+        return ndjson("enrollments", exportService::exportEnrollments);
+    }
+
+    @GetMapping(value = "/export/enrollment-requests", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export enrollment requests", description = "Stream every enrollment request as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportEnrollmentRequests() {
+        return ndjson("enrollment-requests", exportService::exportEnrollmentRequests);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(String name, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(name + ".ndjson").build().toString())
+                .body(body);
+    }
 }
@@ -0,0 +1,41 @@
+package com.courseallocation.course_allocation.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.courseallocation.course_allocation.config.StudentPrincipal;
+import com.courseallocation.course_allocation.dto.AdmissionTicketResponse;
+import com.courseallocation.course_allocation.dto.ApiResponse;
+import com.courseallocation.course_allocation.service.AdmissionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admission")
+@RequiredArgsConstructor
+@Tag(name = "Admission", description = "Registration waiting room")
+public class AdmissionController {
+
+    private final AdmissionService admissionService;
+
+    @GetMapping("/tickets/{ticket}")
+    @Operation(summary = "Poll queue position", description = "Get the queue position of an admission ticket; retry the original request with the X-Admission-Ticket header once admitted")
+    public ResponseEntity<ApiResponse<AdmissionTicketResponse>> getTicketStatus(@PathVariable String ticket,
+            @AuthenticationPrincipal StudentPrincipal principal) {
+        try {
+            AdmissionTicketResponse status = admissionService.getTicketStatus(ticket, principal.studentId());
+            String message = status.getAdmitted() ? "Admitted" : "Waiting in queue";
+            return ResponseEntity.ok(new ApiResponse<>(true, message, status));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
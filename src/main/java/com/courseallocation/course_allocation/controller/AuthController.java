@@ -1,9 +1,13 @@
 package com.courseallocation.course_allocation.controller;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import com.courseallocation.course_allocation.config.StudentPrincipal;
 import com.courseallocation.course_allocation.dto.ApiResponse;
 import com.courseallocation.course_allocation.dto.LoginRequest;
 import com.courseallocation.course_allocation.dto.LoginResponse;
@@ -31,6 +35,10 @@ public class AuthController {
         try {
             LoginResponse response = authenticationService.login(request);
             return ResponseEntity.ok(new ApiResponse<>(true, "Login successful", response));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>(false, e.getMessage(), null));
@@ -62,14 +70,25 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the presented token before it expires")
+    public ResponseEntity<ApiResponse<Void>> logout(@AuthenticationPrincipal StudentPrincipal principal,
+            @RequestHeader("Authorization") String authorization) {
+        try {
+            authenticationService.logout(principal, authorization.substring("Bearer ".length()));
+            return ResponseEntity.ok(new ApiResponse<>(true, "Logged out successfully", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/profile")
     @Operation(summary = "Get user profile", description = "Get current authenticated user's profile information")
     public ResponseEntity<ApiResponse<UserProfileResponse>> getProfile(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal StudentPrincipal principal) {
         try {
-            // Extract token from "Bearer <token>"
-            String token = authHeader.substring(7);
-            UserProfileResponse profile = authenticationService.getProfile(token);
+            UserProfileResponse profile = authenticationService.getProfile(principal.studentId());
             return ResponseEntity.ok(new ApiResponse<>(true, "Profile retrieved successfully", profile));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -5,14 +5,22 @@ import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.courseallocation.course_allocation.dto.ApiResponse;
+import com.courseallocation.course_allocation.dto.CourseFilterRequest;
+import com.courseallocation.course_allocation.dto.CourseFilterResponse;
 import com.courseallocation.course_allocation.dto.CourseRequest;
+import com.courseallocation.course_allocation.dto.CourseRequirementRequest;
 import com.courseallocation.course_allocation.dto.CourseRequirementResponse;
 import com.courseallocation.course_allocation.dto.CourseResponse;
+import com.courseallocation.course_allocation.dto.CourseSuggestion;
 import com.courseallocation.course_allocation.dto.EnrollmentResponse;
+import com.courseallocation.course_allocation.dto.PageResponse;
+import com.courseallocation.course_allocation.service.CourseAutocompleteService;
 import com.courseallocation.course_allocation.service.CourseService;
 import com.courseallocation.course_allocation.service.EnrollmentService;
+import com.courseallocation.course_allocation.service.ResourceVersionService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,6 +35,8 @@ public class CourseController {
 
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
+    private final CourseAutocompleteService courseAutocompleteService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping
     @Operation(summary = "Create a new course")
@@ -38,23 +48,43 @@ public class CourseController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get course by ID")
-    public ResponseEntity<ApiResponse<CourseResponse>> getCourseById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<CourseResponse>> getCourseById(@PathVariable Long id,
+            WebRequest webRequest) {
+        String etag = resourceVersionService.courseListingETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
         CourseResponse course = courseService.getCourseById(id);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Course retrieved successfully", course));
+        return ETags.ok(new ApiResponse<>(true, "Course retrieved successfully", course), etag, ETags.SHARED);
     }
 
     @GetMapping
-    @Operation(summary = "Get all courses")
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> getAllCourses() {
-        List<CourseResponse> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(new ApiResponse<>(true, "Courses retrieved successfully", courses));
+    @Operation(summary = "Get all courses",
+            description = "Optional facet filters (departmentId, level, credits, status, semesterId, lecturerId, "
+                    + "hasSeats) with per-facet counts; keyset-paginated, pass nextCursor back as cursor")
+    public ResponseEntity<ApiResponse<CourseFilterResponse>> getAllCourses(
+            CourseFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        String etag = resourceVersionService.courseListingETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
+        CourseFilterResponse courses = courseService.filterCourses(filter, cursor, size);
+        return ETags.ok(new ApiResponse<>(true, "Courses retrieved successfully", courses), etag, ETags.SHARED);
     }
 
     @GetMapping("/semester/{semesterId}")
     @Operation(summary = "Get courses by semester")
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> getCoursesBySemester(@PathVariable Long semesterId) {
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getCoursesBySemester(@PathVariable Long semesterId,
+            WebRequest webRequest) {
+        String etag = resourceVersionService.courseListingETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
         List<CourseResponse> courses = courseService.getCoursesBySemesterId(semesterId);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Courses retrieved successfully", courses));
+        return ETags.ok(new ApiResponse<>(true, "Courses retrieved successfully", courses), etag, ETags.SHARED);
     }
 
     @PutMapping("/{id}")
@@ -85,11 +115,67 @@ public class CourseController {
         }
     }
 
+    @PostMapping("/{id}/requirements")
+    @Operation(summary = "Add course requirement", description = "Add a requirement to a course; prerequisites that would form a cycle are rejected")
+    public ResponseEntity<ApiResponse<CourseRequirementResponse>> addCourseRequirement(
+            @PathVariable Long id,
+            @Valid @RequestBody CourseRequirementRequest request) {
+        try {
+            CourseRequirementResponse requirement = courseService.addCourseRequirement(id, request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(true, "Requirement added successfully", requirement));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @DeleteMapping("/{id}/requirements/{requirementId}")
+    @Operation(summary = "Delete course requirement")
+    public ResponseEntity<ApiResponse<Void>> deleteCourseRequirement(
+            @PathVariable Long id,
+            @PathVariable Long requirementId) {
+        try {
+            courseService.deleteCourseRequirement(id, requirementId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Requirement deleted successfully", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/{id}/prerequisites/all")
+    @Operation(summary = "Get all prerequisites", description = "Every course this course requires, directly or transitively")
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getAllPrerequisites(@PathVariable Long id) {
+        try {
+            List<CourseResponse> courses = courseService.getAllPrerequisites(id);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Prerequisites retrieved successfully", courses));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/{id}/unlocks")
+    @Operation(summary = "Get unlocked courses", description = "Every course that directly or transitively requires this course")
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getUnlockedCourses(@PathVariable Long id) {
+        try {
+            List<CourseResponse> courses = courseService.getUnlockedCourses(id);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Unlocked courses retrieved successfully", courses));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/{id}/enrollments")
-    @Operation(summary = "Get all enrollments for a course", description = "View all students enrolled in a specific course")
-    public ResponseEntity<ApiResponse<List<EnrollmentResponse>>> getCourseEnrollments(@PathVariable Long id) {
+    @Operation(summary = "Get all enrollments for a course", description = "View students enrolled in a specific course, keyset-paginated")
+    public ResponseEntity<ApiResponse<PageResponse<EnrollmentResponse>>> getCourseEnrollments(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<EnrollmentResponse> enrollments = enrollmentService.getCourseEnrollments(id);
+            PageResponse<EnrollmentResponse> enrollments = enrollmentService.getCourseEnrollments(id, cursor, size);
             return ResponseEntity.ok(new ApiResponse<>(true, "Enrollments retrieved successfully", enrollments));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -97,6 +183,16 @@ public class CourseController {
         }
     }
 
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete courses",
+            description = "Prefix match on course code and title words; open and popular courses first")
+    public ResponseEntity<ApiResponse<List<CourseSuggestion>>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        List<CourseSuggestion> suggestions = courseAutocompleteService.suggest(prefix, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Suggestions retrieved successfully", suggestions));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search courses", description = "Search courses by title, code, or department")
     public ResponseEntity<ApiResponse<List<CourseResponse>>> searchCourses(
@@ -12,12 +12,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.courseallocation.course_allocation.dto.ApiResponse;
 import com.courseallocation.course_allocation.dto.CourseResponse;
 import com.courseallocation.course_allocation.dto.DepartmentRequest;
 import com.courseallocation.course_allocation.dto.DepartmentResponse;
 import com.courseallocation.course_allocation.service.DepartmentService;
+import com.courseallocation.course_allocation.service.ResourceVersionService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,6 +32,7 @@ import lombok.RequiredArgsConstructor;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping
     @Operation(summary = "Create new department", description = "Create a new academic department (Admin only)")
@@ -46,10 +49,15 @@ public class DepartmentController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get department by ID", description = "Retrieve department details by ID")
-    public ResponseEntity<ApiResponse<DepartmentResponse>> getDepartmentById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<DepartmentResponse>> getDepartmentById(@PathVariable Long id,
+            WebRequest webRequest) {
+        String etag = resourceVersionService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
         try {
             DepartmentResponse department = departmentService.getDepartmentById(id);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Department found", department));
+            return ETags.ok(new ApiResponse<>(true, "Department found", department), etag, ETags.SHARED);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ApiResponse<>(false, e.getMessage(), null));
@@ -58,9 +66,13 @@ public class DepartmentController {
 
     @GetMapping
     @Operation(summary = "List all departments", description = "Get list of all academic departments")
-    public ResponseEntity<ApiResponse<List<DepartmentResponse>>> getAllDepartments() {
+    public ResponseEntity<ApiResponse<List<DepartmentResponse>>> getAllDepartments(WebRequest webRequest) {
+        String etag = resourceVersionService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
         List<DepartmentResponse> departments = departmentService.getAllDepartments();
-        return ResponseEntity.ok(new ApiResponse<>(true, "Departments retrieved successfully", departments));
+        return ETags.ok(new ApiResponse<>(true, "Departments retrieved successfully", departments), etag, ETags.SHARED);
     }
 
     @PutMapping("/{id}")
@@ -91,10 +103,15 @@ public class DepartmentController {
 
     @GetMapping("/{id}/courses")
     @Operation(summary = "Get department courses", description = "Get all courses in a department")
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> getDepartmentCourses(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getDepartmentCourses(@PathVariable Long id,
+            WebRequest webRequest) {
+        String etag = resourceVersionService.courseListingETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
         try {
             List<CourseResponse> courses = departmentService.getDepartmentCourses(id);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Courses retrieved successfully", courses));
+            return ETags.ok(new ApiResponse<>(true, "Courses retrieved successfully", courses), etag, ETags.SHARED);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ApiResponse<>(false, e.getMessage(), null));
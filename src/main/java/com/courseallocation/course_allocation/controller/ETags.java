@@ -0,0 +1,24 @@
+package com.courseallocation.course_allocation.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// Conditional GET helpers; clients must revalidate every time, so a 304 is only ever served for the current version
+final class ETags {
+
+    static final CacheControl SHARED = CacheControl.noCache();
+    static final CacheControl PRIVATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    // For use once WebRequest.checkNotModified(etag) has matched If-None-Match
+    static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String etag, CacheControl cacheControl) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.*;
 
 import com.courseallocation.course_allocation.dto.ApiResponse;
 import com.courseallocation.course_allocation.dto.EnrollmentResponse;
+import com.courseallocation.course_allocation.dto.PageResponse;
 import com.courseallocation.course_allocation.service.EnrollmentService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,9 +41,12 @@ public class EnrollmentController {
     }
 
     @GetMapping("/course/{courseId}")
-    @Operation(summary = "Get course enrollments")
-    public ResponseEntity<ApiResponse<List<EnrollmentResponse>>> getCourseEnrollments(@PathVariable Long courseId) {
-        List<EnrollmentResponse> enrollments = enrollmentService.getCourseEnrollments(courseId);
+    @Operation(summary = "Get course enrollments", description = "Keyset-paginated; pass nextCursor back as cursor")
+    public ResponseEntity<ApiResponse<PageResponse<EnrollmentResponse>>> getCourseEnrollments(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        PageResponse<EnrollmentResponse> enrollments = enrollmentService.getCourseEnrollments(courseId, cursor, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Enrollments retrieved successfully", enrollments));
     }
 
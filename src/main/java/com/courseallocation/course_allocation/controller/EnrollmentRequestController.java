@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,14 +13,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.courseallocation.course_allocation.config.StudentPrincipal;
 import com.courseallocation.course_allocation.dto.ApiResponse;
 import com.courseallocation.course_allocation.dto.EnrollmentRequestDto;
 import com.courseallocation.course_allocation.dto.EnrollmentRequestResponse;
 import com.courseallocation.course_allocation.dto.EnrollmentRequestStatusUpdate;
-import com.courseallocation.course_allocation.model.Student;
-import com.courseallocation.course_allocation.service.AuthenticationService;
+import com.courseallocation.course_allocation.dto.PageResponse;
 import com.courseallocation.course_allocation.service.EnrollmentRequestService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,17 +36,14 @@ import lombok.RequiredArgsConstructor;
 public class EnrollmentRequestController {
 
     private final EnrollmentRequestService enrollmentRequestService;
-    private final AuthenticationService authenticationService;
 
     @PostMapping
     @Operation(summary = "Submit enrollment request", description = "Student submits request to enroll in a course")
     public ResponseEntity<ApiResponse<EnrollmentRequestResponse>> createRequest(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal StudentPrincipal principal,
             @Valid @RequestBody EnrollmentRequestDto dto) {
         try {
-            String token = authHeader.substring(7);
-            Student student = authenticationService.getStudentByToken(token);
-            dto.setStudentId(student.getId()); // Override with authenticated student
+            dto.setStudentId(principal.studentId()); // Override with authenticated student
             
             EnrollmentRequestResponse response = enrollmentRequestService.createRequest(dto);
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -56,10 +55,12 @@ public class EnrollmentRequestController {
     }
 
     @GetMapping
-    @Operation(summary = "List all enrollment requests", description = "Get all enrollment requests (Admin/Registrar)")
-    public ResponseEntity<ApiResponse<List<EnrollmentRequestResponse>>> getAllRequests() {
+    @Operation(summary = "List all enrollment requests", description = "Get all enrollment requests (Admin/Registrar), keyset-paginated")
+    public ResponseEntity<ApiResponse<PageResponse<EnrollmentRequestResponse>>> getAllRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<EnrollmentRequestResponse> requests = enrollmentRequestService.getPendingRequests();
+            PageResponse<EnrollmentRequestResponse> requests = enrollmentRequestService.getPendingRequests(cursor, size);
             return ResponseEntity.ok(new ApiResponse<>(true, "Requests retrieved", requests));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -80,10 +81,12 @@ public class EnrollmentRequestController {
     }
 
     @GetMapping("/pending")
-    @Operation(summary = "Get pending requests", description = "List all requests awaiting approval")
-    public ResponseEntity<ApiResponse<List<EnrollmentRequestResponse>>> getPendingRequests() {
+    @Operation(summary = "Get pending requests", description = "List requests awaiting approval, keyset-paginated; pass nextCursor back as cursor")
+    public ResponseEntity<ApiResponse<PageResponse<EnrollmentRequestResponse>>> getPendingRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<EnrollmentRequestResponse> requests = enrollmentRequestService.getPendingRequests();
+            PageResponse<EnrollmentRequestResponse> requests = enrollmentRequestService.getPendingRequests(cursor, size);
             return ResponseEntity.ok(new ApiResponse<>(true, "Pending requests retrieved", requests));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
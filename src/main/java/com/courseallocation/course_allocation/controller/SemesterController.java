@@ -11,11 +11,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.courseallocation.course_allocation.dto.ApiResponse;
+import com.courseallocation.course_allocation.dto.PageResponse;
 import com.courseallocation.course_allocation.dto.SemesterRequest;
 import com.courseallocation.course_allocation.dto.SemesterResponse;
+import com.courseallocation.course_allocation.service.ResourceVersionService;
 import com.courseallocation.course_allocation.service.SemesterService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 public class SemesterController {
 
     private final SemesterService semesterService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping
     @Operation(summary = "Create a new semester", description = "Register a new semester in the system")
@@ -41,30 +46,50 @@ public class SemesterController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get semester by ID", description = "Retrieve semester information by ID")
-    public ResponseEntity<ApiResponse<SemesterResponse>> getSemesterById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<SemesterResponse>> getSemesterById(@PathVariable Long id,
+            WebRequest webRequest) {
+        String etag = resourceVersionService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
         SemesterResponse response = semesterService.getSemesterById(id);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Semester retrieved successfully", response));
+        return ETags.ok(new ApiResponse<>(true, "Semester retrieved successfully", response), etag, ETags.SHARED);
     }
 
     @GetMapping("/active")
     @Operation(summary = "Get active semester", description = "Retrieve the currently active semester")
-    public ResponseEntity<ApiResponse<SemesterResponse>> getActiveSemester() {
+    public ResponseEntity<ApiResponse<SemesterResponse>> getActiveSemester(WebRequest webRequest) {
+        String etag = resourceVersionService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
         SemesterResponse response = semesterService.getActiveSemester();
-        return ResponseEntity.ok(new ApiResponse<>(true, "Active semester retrieved successfully", response));
+        return ETags.ok(new ApiResponse<>(true, "Active semester retrieved successfully", response), etag, ETags.SHARED);
     }
 
     @GetMapping
-    @Operation(summary = "Get all semesters", description = "Retrieve a list of all semesters")
-    public ResponseEntity<ApiResponse<List<SemesterResponse>>> getAllSemesters() {
-        List<SemesterResponse> response = semesterService.getAllSemesters();
-        return ResponseEntity.ok(new ApiResponse<>(true, "Semesters retrieved successfully", response));
+    @Operation(summary = "Get all semesters", description = "Retrieve all semesters, keyset-paginated; pass nextCursor back as cursor")
+    public ResponseEntity<ApiResponse<PageResponse<SemesterResponse>>> getAllSemesters(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        String etag = resourceVersionService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
+        PageResponse<SemesterResponse> response = semesterService.getAllSemesters(cursor, size);
+        return ETags.ok(new ApiResponse<>(true, "Semesters retrieved successfully", response), etag, ETags.SHARED);
     }
 
     @GetMapping("/active/list")
     @Operation(summary = "Get all active semesters", description = "Retrieve a list of all active semesters")
-    public ResponseEntity<ApiResponse<List<SemesterResponse>>> getActiveSemesters() {
+    public ResponseEntity<ApiResponse<List<SemesterResponse>>> getActiveSemesters(WebRequest webRequest) {
+        String etag = resourceVersionService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag, ETags.SHARED);
+        }
         List<SemesterResponse> response = semesterService.getActiveSemesters();
-        return ResponseEntity.ok(new ApiResponse<>(true, "Active semesters retrieved successfully", response));
+        return ETags.ok(new ApiResponse<>(true, "Active semesters retrieved successfully", response), etag, ETags.SHARED);
     }
 
     @PutMapping("/{id}")
@@ -1,12 +1,11 @@
 package com.courseallocation.course_allocation.controller;
 
-import java.util.List;
-
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.courseallocation.course_allocation.dto.ApiResponse;
+import com.courseallocation.course_allocation.dto.PageResponse;
 import com.courseallocation.course_allocation.dto.StudentRequest;
 import com.courseallocation.course_allocation.dto.StudentResponse;
 import com.courseallocation.course_allocation.service.StudentService;
@@ -47,9 +46,11 @@ public class StudentController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all students")
-    public ResponseEntity<ApiResponse<List<StudentResponse>>> getAllStudents() {
-        List<StudentResponse> students = studentService.getAllStudents();
+    @Operation(summary = "Get all students", description = "Keyset-paginated; pass nextCursor back as cursor")
+    public ResponseEntity<ApiResponse<PageResponse<StudentResponse>>> getAllStudents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        PageResponse<StudentResponse> students = studentService.getAllStudents(cursor, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Students retrieved successfully", students));
     }
 
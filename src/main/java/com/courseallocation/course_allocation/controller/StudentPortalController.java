@@ -3,24 +3,27 @@ package com.courseallocation.course_allocation.controller;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.courseallocation.course_allocation.config.StudentPrincipal;
 import com.courseallocation.course_allocation.dto.ApiResponse;
+import com.courseallocation.course_allocation.dto.CourseDetailsResponse;
 import com.courseallocation.course_allocation.dto.CourseEligibilityResponse;
 import com.courseallocation.course_allocation.dto.CourseResponse;
+import com.courseallocation.course_allocation.dto.EligibilityMatrixResponse;
 import com.courseallocation.course_allocation.dto.EnrollmentResponse;
 import com.courseallocation.course_allocation.dto.ScheduleResponse;
 import com.courseallocation.course_allocation.dto.TranscriptResponse;
-import com.courseallocation.course_allocation.model.Student;
-import com.courseallocation.course_allocation.service.AuthenticationService;
 import com.courseallocation.course_allocation.service.EnrollmentService;
+import com.courseallocation.course_allocation.service.ResourceVersionService;
 import com.courseallocation.course_allocation.service.StudentPortalService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,17 +38,15 @@ public class StudentPortalController {
 
     private final StudentPortalService studentPortalService;
     private final EnrollmentService enrollmentService;
-    private final AuthenticationService authenticationService;
+    private final ResourceVersionService resourceVersionService;
 
     @GetMapping("/courses")
     @Operation(summary = "Browse available courses", description = "Get list of courses available for enrollment")
     public ResponseEntity<ApiResponse<List<CourseResponse>>> getAvailableCourses(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal StudentPrincipal principal,
             @RequestParam(required = false) Long semesterId) {
         try {
-            String token = authHeader.substring(7);
-            Student student = authenticationService.getStudentByToken(token);
-            List<CourseResponse> courses = studentPortalService.getAvailableCourses(student.getId(), semesterId);
+            List<CourseResponse> courses = studentPortalService.getAvailableCourses(semesterId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Courses retrieved successfully", courses));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -53,16 +54,28 @@ public class StudentPortalController {
         }
     }
 
+    @GetMapping("/courses/eligibility")
+    @Operation(summary = "Check eligibility for all courses", description = "Evaluate eligibility for every course in a semester (default: active) in one pass")
+    public ResponseEntity<ApiResponse<EligibilityMatrixResponse>> getEligibilityMatrix(
+            @AuthenticationPrincipal StudentPrincipal principal,
+            @RequestParam(required = false) Long semesterId) {
+        try {
+            EligibilityMatrixResponse matrix = studentPortalService.getEligibilityMatrix(principal, semesterId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Eligibility checked", matrix));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/courses/{courseId}")
-    @Operation(summary = "View course details", description = "Get detailed information about a specific course")
-    public ResponseEntity<ApiResponse<CourseResponse>> getCourseDetails(
+    @Operation(summary = "View course details", description = "Get a course with live seats, its requirements and the student's eligibility")
+    public ResponseEntity<ApiResponse<CourseDetailsResponse>> getCourseDetails(
+            @AuthenticationPrincipal StudentPrincipal principal,
             @PathVariable Long courseId) {
         try {
-            CourseResponse course = studentPortalService.getAvailableCourses(null, null).stream()
-                    .filter(c -> c.getId().equals(courseId))
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Course not found"));
-            return ResponseEntity.ok(new ApiResponse<>(true, "Course found", course));
+            CourseDetailsResponse details = studentPortalService.getCourseDetails(principal, courseId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Course found", details));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, e.getMessage(), null));
@@ -72,12 +85,10 @@ public class StudentPortalController {
     @GetMapping("/courses/{courseId}/validate")
     @Operation(summary = "Check course eligibility", description = "Validate if student meets requirements for a course")
     public ResponseEntity<ApiResponse<CourseEligibilityResponse>> checkEligibility(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal StudentPrincipal principal,
             @PathVariable Long courseId) {
         try {
-            String token = authHeader.substring(7);
-            Student student = authenticationService.getStudentByToken(token);
-            CourseEligibilityResponse eligibility = studentPortalService.checkCourseEligibility(student.getId(), courseId);
+            CourseEligibilityResponse eligibility = studentPortalService.checkCourseEligibility(principal, courseId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Eligibility checked", eligibility));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -88,12 +99,15 @@ public class StudentPortalController {
     @GetMapping("/enrollments")
     @Operation(summary = "View enrolled courses", description = "Get all currently enrolled courses")
     public ResponseEntity<ApiResponse<List<EnrollmentResponse>>> getMyEnrollments(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal StudentPrincipal principal,
+            WebRequest webRequest) {
         try {
-            String token = authHeader.substring(7);
-            Student student = authenticationService.getStudentByToken(token);
-            List<EnrollmentResponse> enrollments = enrollmentService.getStudentEnrollments(student.getId());
-            return ResponseEntity.ok(new ApiResponse<>(true, "Enrollments retrieved", enrollments));
+            String etag = resourceVersionService.studentETag(principal.studentId());
+            if (webRequest.checkNotModified(etag)) {
+                return ETags.notModified(etag, ETags.PRIVATE);
+            }
+            List<EnrollmentResponse> enrollments = enrollmentService.getStudentEnrollments(principal.studentId());
+            return ETags.ok(new ApiResponse<>(true, "Enrollments retrieved", enrollments), etag, ETags.PRIVATE);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, e.getMessage(), null));
@@ -103,12 +117,15 @@ public class StudentPortalController {
     @GetMapping("/schedule")
     @Operation(summary = "View current semester schedule", description = "Get schedule for active semester")
     public ResponseEntity<ApiResponse<ScheduleResponse>> getCurrentSchedule(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal StudentPrincipal principal,
+            WebRequest webRequest) {
         try {
-            String token = authHeader.substring(7);
-            Student student = authenticationService.getStudentByToken(token);
-            ScheduleResponse schedule = studentPortalService.getCurrentSchedule(student.getId());
-            return ResponseEntity.ok(new ApiResponse<>(true, "Schedule retrieved", schedule));
+            String etag = resourceVersionService.studentETag(principal.studentId());
+            if (webRequest.checkNotModified(etag)) {
+                return ETags.notModified(etag, ETags.PRIVATE);
+            }
+            ScheduleResponse schedule = studentPortalService.getCurrentSchedule(principal);
+            return ETags.ok(new ApiResponse<>(true, "Schedule retrieved", schedule), etag, ETags.PRIVATE);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, e.getMessage(), null));
@@ -118,12 +135,15 @@ public class StudentPortalController {
     @GetMapping("/transcript")
     @Operation(summary = "View academic transcript", description = "Get complete academic transcript with grades")
     public ResponseEntity<ApiResponse<TranscriptResponse>> getTranscript(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal StudentPrincipal principal,
+            WebRequest webRequest) {
         try {
-            String token = authHeader.substring(7);
-            Student student = authenticationService.getStudentByToken(token);
-            TranscriptResponse transcript = studentPortalService.getTranscript(student.getId());
-            return ResponseEntity.ok(new ApiResponse<>(true, "Transcript generated", transcript));
+            String etag = resourceVersionService.studentETag(principal.studentId());
+            if (webRequest.checkNotModified(etag)) {
+                return ETags.notModified(etag, ETags.PRIVATE);
+            }
+            TranscriptResponse transcript = studentPortalService.getTranscript(principal.studentId());
+            return ETags.ok(new ApiResponse<>(true, "Transcript generated", transcript), etag, ETags.PRIVATE);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, e.getMessage(), null));
@@ -133,12 +153,15 @@ public class StudentPortalController {
     @GetMapping("/enrollments/history")
     @Operation(summary = "View enrollment history", description = "Get complete enrollment history with all statuses and grades")
     public ResponseEntity<ApiResponse<List<EnrollmentResponse>>> getEnrollmentHistory(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal StudentPrincipal principal,
+            WebRequest webRequest) {
         try {
-            String token = authHeader.substring(7);
-            Student student = authenticationService.getStudentByToken(token);
-            List<EnrollmentResponse> history = enrollmentService.getStudentEnrollments(student.getId());
-            return ResponseEntity.ok(new ApiResponse<>(true, "Enrollment history retrieved", history));
+            String etag = resourceVersionService.studentETag(principal.studentId());
+            if (webRequest.checkNotModified(etag)) {
+                return ETags.notModified(etag, ETags.PRIVATE);
+            }
+            List<EnrollmentResponse> history = enrollmentService.getStudentEnrollments(principal.studentId());
+            return ETags.ok(new ApiResponse<>(true, "Enrollment history retrieved", history), etag, ETags.PRIVATE);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, e.getMessage(), null));
@@ -148,12 +171,10 @@ public class StudentPortalController {
     @PostMapping("/enrollments/{enrollmentId}/drop")
     @Operation(summary = "Drop enrolled course", description = "Drop a course that student is currently enrolled in")
     public ResponseEntity<ApiResponse<Void>> dropCourse(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal StudentPrincipal principal,
             @PathVariable Long enrollmentId) {
         try {
-            String token = authHeader.substring(7);
-            Student student = authenticationService.getStudentByToken(token);
-            enrollmentService.dropEnrollment(enrollmentId);
+            enrollmentService.dropEnrollment(enrollmentId, principal.studentId());
             return ResponseEntity.ok(new ApiResponse<>(true, "Course dropped successfully", null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -0,0 +1,15 @@
+package com.courseallocation.course_allocation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionTicketResponse {
+    private String ticket;
+    private Boolean admitted;
+    private Long position; // Callers ahead of this ticket, 0 once admitted
+    private Long estimatedWaitSeconds;
+}
@@ -0,0 +1,21 @@
+package com.courseallocation.course_allocation.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationResultResponse {
+    private Long semesterId;
+    private Integer coursesProcessed;
+    private Integer totalRequests;
+    private Integer approved;
+    private Integer waitlisted;
+    private Integer rejected;
+    private Long durationMillis;
+    private LocalDateTime completedAt;
+}
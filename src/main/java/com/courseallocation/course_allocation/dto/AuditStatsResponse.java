@@ -0,0 +1,18 @@
+package com.courseallocation.course_allocation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditStatsResponse {
+    private Integer bufferCapacity;
+    private Integer buffered;
+    private Long written;
+    private Long batches;
+    private Long blocked;
+    private Long dropped;
+    private Long failed;
+}
@@ -0,0 +1,16 @@
+package com.courseallocation.course_allocation.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseDetailsResponse {
+    private CourseResponse course;
+    private List<CourseRequirementResponse> requirements;
+    private CourseEligibilityResponse eligibility;
+}
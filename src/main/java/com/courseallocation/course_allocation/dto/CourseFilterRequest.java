@@ -0,0 +1,14 @@
+package com.courseallocation.course_allocation.dto;
+
+import lombok.Data;
+
+@Data
+public class CourseFilterRequest {
+    private Long departmentId;
+    private Integer level;
+    private Integer credits;
+    private String status;
+    private Long semesterId;
+    private Long lecturerId;
+    private Boolean hasSeats;
+}
@@ -0,0 +1,21 @@
+package com.courseallocation.course_allocation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseFilterResponse {
+    private List<CourseResponse> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor; // pass back as ?cursor= together with the same filters
+    private int totalMatches;
+    // facet -> value -> matching courses, counted with every filter applied except that facet's own
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -0,0 +1,26 @@
+package com.courseallocation.course_allocation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class CourseRequirementRequest {
+    @NotBlank(message = "Requirement type is required")
+    private String requirementType; // PREREQUISITE, COREQUISITE, YEAR, CREDIT, PROGRAM, GPA
+
+    private Long prerequisiteCourseId;
+
+    private String minGrade;
+
+    private Integer minCreditsCompleted;
+
+    private Integer requiredYear;
+
+    private String requiredProgram;
+
+    private Double minGPA;
+
+    private Boolean isMandatory = true;
+
+    private String description;
+}
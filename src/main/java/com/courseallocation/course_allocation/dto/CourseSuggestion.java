@@ -0,0 +1,16 @@
+package com.courseallocation.course_allocation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSuggestion {
+    private Long id;
+    private String courseCode;
+    private String title;
+    private Integer availableSeats;
+    private Integer currentEnrollment;
+}
@@ -0,0 +1,20 @@
+package com.courseallocation.course_allocation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CredentialStatsResponse {
+    private Integer workFactor;
+    private Integer threads;
+    private Integer queueDepth;
+    private Integer queueCapacity;
+    private Long rejected;
+    private Long rehashed;
+    private HashTimingResponse hash;
+    private HashTimingResponse verify;
+    private HashTimingResponse queueWait;
+}
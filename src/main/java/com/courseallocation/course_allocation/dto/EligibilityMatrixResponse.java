@@ -0,0 +1,18 @@
+package com.courseallocation.course_allocation.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EligibilityMatrixResponse {
+    private Long semesterId;
+    private List<String> checks; // bit i of a mask is set when checks[i] failed
+    private long[] courseIds;
+    private int[] failedChecks; // aligned with courseIds; 0 means eligible
+    private int eligibleCount;
+}
@@ -0,0 +1,20 @@
+package com.courseallocation.course_allocation.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HashTimingResponse {
+    private Long count;
+    private Double meanMillis;
+    private Long maxMillis;
+    private Long p50Millis;
+    private Long p99Millis;
+    // Observations per bucket, keyed by the bucket's upper bound in milliseconds ("+Inf" for the last)
+    private Map<String, Long> buckets;
+}
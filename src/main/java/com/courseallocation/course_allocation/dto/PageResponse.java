@@ -0,0 +1,17 @@
+package com.courseallocation.course_allocation.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor; // pass back as ?cursor= to get the next page; null on the last page
+}
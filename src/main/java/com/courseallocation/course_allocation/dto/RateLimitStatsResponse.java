@@ -0,0 +1,19 @@
+package com.courseallocation.course_allocation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitStatsResponse {
+    private String policy;
+    private Integer capacity;
+    private Double refillPerMinute;
+    private Integer trackedKeys;
+    private Integer maxKeys;
+    private Long allowed;
+    private Long rejected;
+    private Long overflowed;
+}
@@ -0,0 +1,19 @@
+package com.courseallocation.course_allocation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenCacheStatsResponse {
+    private Integer size;
+    private Integer maxSize;
+    private Long hits;
+    private Long misses;
+    private Double hitRate;
+    private Long sizeEvictions;
+    private Long expiredEvictions;
+    private Long revokedEvictions;
+}
@@ -3,10 +3,12 @@ package com.courseallocation.course_allocation.model;
 import java.time.LocalDateTime;
 
 import com.courseallocation.course_allocation.model.enums.RequirementType;
+import com.courseallocation.course_allocation.service.CourseRequirementListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -17,6 +19,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,13 +27,15 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "course_requirements")
+@EntityListeners(CourseRequirementListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CourseRequirement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_requirements_seq")
+    @SequenceGenerator(name = "course_requirements_seq", sequenceName = "course_requirements_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
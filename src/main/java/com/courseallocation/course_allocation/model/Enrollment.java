@@ -3,10 +3,12 @@ package com.courseallocation.course_allocation.model;
 import java.time.LocalDateTime;
 
 import com.courseallocation.course_allocation.model.enums.EnrollmentStatus;
+import com.courseallocation.course_allocation.service.StudentRecordListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -17,6 +19,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -27,13 +30,15 @@ import lombok.NoArgsConstructor;
 @Table(name = "enrollments", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"student_id", "course_id"})
 })
+@EntityListeners(StudentRecordListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Enrollment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_seq")
+    @SequenceGenerator(name = "enrollments_seq", sequenceName = "enrollments_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,47 @@
+package com.courseallocation.course_allocation.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Deny-list row. Either a single token (tokenId set) or every token of a student issued before revokedAt
+ * (tokenId null). Rows are kept until no token they cover can still be valid.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(columnList = "token_id"),
+    @Index(columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "revoked_tokens_seq")
+    @SequenceGenerator(name = "revoked_tokens_seq", sequenceName = "revoked_tokens_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(length = 36)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private Long studentId;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -16,6 +16,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -29,7 +30,8 @@ import lombok.NoArgsConstructor;
 public class Semester {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "semesters_seq")
+    @SequenceGenerator(name = "semesters_seq", sequenceName = "semesters_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -0,0 +1,11 @@
+package com.courseallocation.course_allocation.model.enums;
+
+public enum AuditAction {
+    ENROLL,                 // Student enrolled in a course
+    DROP,                   // Enrollment dropped by the student
+    FORCE_ENROLL,           // Admin enrollment past capacity
+    FORCE_DROP,             // Enrollment dropped by an admin
+    CAPACITY_CHANGE,        // Course capacity changed
+    REQUEST_STATUS_CHANGE,  // Enrollment request moved to another status
+    ALLOCATION_RUN          // Allocation run over a semester
+}
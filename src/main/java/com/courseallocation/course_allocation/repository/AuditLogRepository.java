@@ -0,0 +1,10 @@
+package com.courseallocation.course_allocation.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.courseallocation.course_allocation.model.AuditLog;
+
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+}
@@ -1,9 +1,13 @@
 package com.courseallocation.course_allocation.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.courseallocation.course_allocation.model.Course;
@@ -13,9 +17,11 @@ import com.courseallocation.course_allocation.model.User;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+
     Optional<Course> findByCourseCode(String courseCode);
     List<Course> findByDepartment(Department department);
     List<Course> findByDepartmentId(Long departmentId);
+    long countByDepartmentId(Long departmentId);
     List<Course> findByAssignedLecturer(User assignedLecturer);
     List<Course> findByAssignedLecturerId(Long lecturerId);
     List<Course> findBySemester(Semester semester);
@@ -23,5 +29,76 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByTitleContainingIgnoreCase(String title);
     List<Course> findByDepartmentIdAndLevelAndSemesterId(Long departmentId, Integer level, Long semesterId);
     boolean existsByCourseCode(String courseCode);
-}
 
+    // Read-model rows for the catalog snapshot, joined in one statement without hydrating entities:
+    // [id, courseCode, title, description, level, credits, maxCapacity, departmentCode, departmentName,
+    //  lecturerId, lecturerFirstName, lecturerLastName, semesterId, semesterCode, academicYear, status,
+    //  createdAt, updatedAt, departmentId]
+    @Query("SELECT c.id, c.courseCode, c.title, c.description, c.level, c.credits, c.maxCapacity, " +
+            "d.code, d.name, l.id, l.firstName, l.lastName, s.id, s.semesterCode, c.academicYear, c.status, " +
+            "c.createdAt, c.updatedAt, d.id " +
+            "FROM Course c LEFT JOIN c.department d LEFT JOIN c.assignedLecturer l LEFT JOIN c.semester s " +
+            "ORDER BY c.id")
+    List<Object[]> findAllCourseRows();
+
+    @Query("SELECT c.id FROM Course c")
+    List<Long> findAllIds();
+
+    @Query("SELECT c.id FROM Course c WHERE c.semester.id = :semesterId ORDER BY c.id")
+    List<Long> findIdsBySemesterId(@Param("semesterId") Long semesterId);
+
+    // Rows of [courseId, maxCapacity, currentEnrollment]
+    @Query("SELECT c.id, c.maxCapacity, c.currentEnrollment FROM Course c")
+    List<Object[]> findSeatCounts();
+
+    // Rows of [maxCapacity, currentEnrollment]; a scalar read, so it never answers from the persistence context
+    @Query("SELECT c.maxCapacity, c.currentEnrollment FROM Course c WHERE c.id = :id")
+    List<Object[]> findSeatCountsById(@Param("id") Long id);
+
+    // Rows of [courseId, maxCapacity, currentEnrollment]
+    @Query("SELECT c.id, c.maxCapacity, c.currentEnrollment FROM Course c WHERE c.id IN :ids")
+    List<Object[]> findSeatCountsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Rows of [courseId, maxCapacity, currentEnrollment]; the rows stay locked until commit. Locking in id order
+    // keeps concurrent callers from deadlocking on each other
+    @Query(value = "SELECT id, max_capacity, current_enrollment FROM courses WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Object[]> lockSeatCountsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.currentEnrollment = c.currentEnrollment + 1, " +
+            "c.version = COALESCE(c.version, 0) + 1, c.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE c.id = :courseId AND c.currentEnrollment < c.maxCapacity")
+    int incrementEnrollmentIfAvailable(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.currentEnrollment = " +
+            "CASE WHEN c.currentEnrollment + :delta < 0 THEN 0 ELSE c.currentEnrollment + :delta END, " +
+            "c.version = COALESCE(c.version, 0) + 1, c.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE c.id = :courseId")
+    int adjustEnrollment(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.currentEnrollment = c.currentEnrollment + :delta, " +
+            "c.version = COALESCE(c.version, 0) + 1, c.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE c.id IN :courseIds")
+    int increaseEnrollmentByIdIn(@Param("courseIds") Collection<Long> courseIds, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE courses c SET current_enrollment = " +
+            "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id AND e.status = 'ENROLLED'), " +
+            "version = COALESCE(c.version, 0) + 1, updated_at = NOW() " +
+            "WHERE c.current_enrollment IS DISTINCT FROM " +
+            "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id AND e.status = 'ENROLLED')",
+            nativeQuery = true)
+    int refreshCurrentEnrollment();
+
+    @Modifying
+    @Query(value = "UPDATE courses c SET current_enrollment = " +
+            "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id AND e.status = 'ENROLLED'), " +
+            "version = COALESCE(c.version, 0) + 1, updated_at = NOW() " +
+            "WHERE c.semester_id = :semesterId AND c.current_enrollment IS DISTINCT FROM " +
+            "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id AND e.status = 'ENROLLED')",
+            nativeQuery = true)
+    int refreshCurrentEnrollmentBySemesterId(@Param("semesterId") Long semesterId);
+}
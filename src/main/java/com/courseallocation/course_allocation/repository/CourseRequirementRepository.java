@@ -1,14 +1,29 @@
 package com.courseallocation.course_allocation.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.courseallocation.course_allocation.model.CourseRequirement;
+import com.courseallocation.course_allocation.model.enums.RequirementType;
 
 @Repository
 public interface CourseRequirementRepository extends JpaRepository<CourseRequirement, Long> {
     List<CourseRequirement> findByCourseId(Long courseId);
     List<CourseRequirement> findByPrerequisiteCourseId(Long prerequisiteCourseId);
+
+    @Query("SELECT r FROM CourseRequirement r JOIN FETCH r.course LEFT JOIN FETCH r.prerequisiteCourse WHERE r.course.id = :courseId")
+    List<CourseRequirement> findByCourseIdWithPrerequisite(@Param("courseId") Long courseId);
+
+    @Query("SELECT r FROM CourseRequirement r JOIN FETCH r.course LEFT JOIN FETCH r.prerequisiteCourse WHERE r.course.id IN :courseIds")
+    List<CourseRequirement> findByCourseIdInWithPrerequisite(@Param("courseIds") Collection<Long> courseIds);
+
+    // Rows of [courseId, prerequisiteCourseId]
+    @Query("SELECT r.course.id, r.prerequisiteCourse.id FROM CourseRequirement r " +
+            "WHERE r.prerequisiteCourse IS NOT NULL AND r.requirementType <> :excludedType")
+    List<Object[]> findPrerequisiteEdges(@Param("excludedType") RequirementType excludedType);
 }
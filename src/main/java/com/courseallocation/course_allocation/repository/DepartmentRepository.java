@@ -1,7 +1,9 @@
 package com.courseallocation.course_allocation.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,4 +15,7 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<Department> findByName(String name);
     boolean existsByCode(String code);
     boolean existsByName(String name);
+
+    @EntityGraph(attributePaths = "hod")
+    List<Department> findAllByOrderByIdAsc();
 }
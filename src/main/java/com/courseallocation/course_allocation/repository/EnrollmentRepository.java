@@ -2,14 +2,24 @@ package com.courseallocation.course_allocation.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.courseallocation.course_allocation.model.Course;
 import com.courseallocation.course_allocation.model.Enrollment;
 import com.courseallocation.course_allocation.model.Student;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByStudent(Student student);
@@ -21,5 +31,26 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     boolean existsByStudentAndCourse(Student student, Course course);
     long countByCourse(Course course);
     long countByCourseId(Long courseId);
-}
 
+    @EntityGraph(attributePaths = {"student", "course"})
+    List<Enrollment> findByCourseIdAndIdGreaterThanOrderByIdAsc(Long courseId, Long afterId, Limit limit);
+
+    // Cursor over every enrollment for exports; must be consumed inside a transaction
+    @EntityGraph(attributePaths = {"student", "course"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM Enrollment e ORDER BY e.id")
+    Stream<Enrollment> streamAll();
+
+    // Rows of [courseId, status, finalGrade]
+    @Query("SELECT e.course.id, e.status, e.finalGrade FROM Enrollment e WHERE e.student.id = :studentId")
+    List<Object[]> findHistoryByStudentId(@Param("studentId") Long studentId);
+
+    // Each row draws its own id from the pooled sequence, which leaves gaps of one allocation block between rows
+    @Modifying
+    @Query(value = "INSERT INTO enrollments (id, student_id, course_id, enrollment_date, status, created_at, updated_at) " +
+            "SELECT nextval('enrollments_id_seq'), r.student_id, r.course_id, NOW(), 'ENROLLED', NOW(), NOW() " +
+            "FROM enrollment_requests r WHERE r.id IN (:requestIds) " +
+            "ON CONFLICT (student_id, course_id) DO NOTHING",
+            nativeQuery = true)
+    int insertFromRequests(@Param("requestIds") List<Long> requestIds);
+}
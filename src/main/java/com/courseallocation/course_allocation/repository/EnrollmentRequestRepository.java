@@ -1,14 +1,26 @@
 package com.courseallocation.course_allocation.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.courseallocation.course_allocation.model.EnrollmentRequest;
 import com.courseallocation.course_allocation.model.enums.RequestStatus;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface EnrollmentRequestRepository extends JpaRepository<EnrollmentRequest, Long> {
     List<EnrollmentRequest> findByStudentId(Long studentId);
@@ -18,4 +30,75 @@ public interface EnrollmentRequestRepository extends JpaRepository<EnrollmentReq
     List<EnrollmentRequest> findByCourseIdAndStatus(Long courseId, RequestStatus status);
     Optional<EnrollmentRequest> findByStudentIdAndCourseId(Long studentId, Long courseId);
     long countByCourseIdAndStatus(Long courseId, RequestStatus status);
+
+    @EntityGraph(attributePaths = {"student", "student.user", "course"})
+    List<EnrollmentRequest> findByStatusAndIdGreaterThanOrderByIdAsc(RequestStatus status, Long afterId, Limit limit);
+
+    // Cursor over every request for exports; must be consumed inside a transaction
+    @EntityGraph(attributePaths = {"student", "student.user", "course"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM EnrollmentRequest r ORDER BY r.id")
+    Stream<EnrollmentRequest> streamAll();
+
+    // Priority = (Year x 100) + (CreditsCompleted x 10) + (GPA x 5) + MajorBonus, see README "Priority Calculation"
+    @Modifying
+    @Query(value = "UPDATE enrollment_requests r SET priority = CAST(ROUND(" +
+            "s.year_of_study * 100 + s.credits_completed * 10 + COALESCE(s.currentgpa, 0) * 5 + " +
+            "CASE WHEN d.name IS NOT NULL AND LOWER(d.name) = LOWER(s.program) THEN 50 ELSE 0 END) AS INTEGER), " +
+            "updated_at = NOW() " +
+            "FROM students s, courses c LEFT JOIN departments d ON d.id = c.department_id " +
+            "WHERE r.student_id = s.id AND r.course_id = c.id AND r.status = 'PENDING' AND c.semester_id = :semesterId",
+            nativeQuery = true)
+    int calculatePendingPriorities(@Param("semesterId") Long semesterId);
+
+    @Modifying
+    @Query(value = "UPDATE enrollment_requests r SET status = 'REJECTED', " +
+            "rejection_reason = 'Already enrolled in this course', updated_at = NOW() " +
+            "FROM courses c WHERE r.course_id = c.id AND r.status = 'PENDING' AND c.semester_id = :semesterId " +
+            "AND EXISTS (SELECT 1 FROM enrollments e WHERE e.student_id = r.student_id AND e.course_id = r.course_id)",
+            nativeQuery = true)
+    int rejectPendingAlreadyEnrolled(@Param("semesterId") Long semesterId);
+
+    // Rows of [requestId, courseId, priority, requestDate]
+    @Query("SELECT r.id, r.course.id, r.priority, r.requestDate FROM EnrollmentRequest r " +
+            "WHERE r.status = :status AND r.course.semester.id = :semesterId")
+    List<Object[]> findAllocationCandidates(@Param("semesterId") Long semesterId, @Param("status") RequestStatus status);
+
+    @Modifying
+    @Query("UPDATE EnrollmentRequest r SET r.status = :status, r.updatedAt = :now WHERE r.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") List<Long> ids, @Param("status") RequestStatus status,
+            @Param("now") LocalDateTime now);
+
+    // Rows of [requestId, courseId, priority, requestDate]
+    @Query("SELECT r.id, r.course.id, r.priority, r.requestDate FROM EnrollmentRequest r WHERE r.status = :status")
+    List<Object[]> findQueueEntriesByStatus(@Param("status") RequestStatus status);
+
+    // Rows of [requestId, courseId, priority, requestDate]
+    @Query("SELECT r.id, r.course.id, r.priority, r.requestDate FROM EnrollmentRequest r " +
+            "WHERE r.status = :status AND r.course.id IN :courseIds")
+    List<Object[]> findQueueEntriesByStatusAndCourseIdIn(@Param("status") RequestStatus status,
+            @Param("courseIds") Collection<Long> courseIds);
+
+    // Rows of [requestId, courseId, studentId, status]
+    @Query("SELECT r.id, r.course.id, r.student.id, r.status FROM EnrollmentRequest r WHERE r.id IN :ids")
+    List<Object[]> findApprovalRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"student", "student.user", "course"})
+    List<EnrollmentRequest> findByIdIn(Collection<Long> ids);
+
+    // The given requests that are still WAITLISTED; the rows stay locked until commit, in id order so concurrent
+    // callers cannot deadlock
+    @Query(value = "SELECT id FROM enrollment_requests WHERE id IN (:ids) AND status = 'WAITLISTED' " +
+            "ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockWaitlistedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id FROM EnrollmentRequest r WHERE r.id IN :ids " +
+            "AND EXISTS (SELECT e.id FROM Enrollment e WHERE e.student = r.student AND e.course = r.course)")
+    List<Long> findIdsWithExistingEnrollment(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE EnrollmentRequest r SET r.status = :status, r.rejectionReason = :reason, r.updatedAt = :now " +
+            "WHERE r.id IN :ids")
+    int updateStatusAndReasonByIdIn(@Param("ids") List<Long> ids, @Param("status") RequestStatus status,
+            @Param("reason") String reason, @Param("now") LocalDateTime now);
 }
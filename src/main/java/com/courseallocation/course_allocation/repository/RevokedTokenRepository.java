@@ -0,0 +1,32 @@
+package com.courseallocation.course_allocation.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.courseallocation.course_allocation.model.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    boolean existsByTokenId(String tokenId);
+
+    // Rows of [tokenId, studentId, revokedAt]
+    @Query("SELECT r.tokenId, r.studentId, r.revokedAt FROM RevokedToken r " +
+            "WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<Object[]> findActiveRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    // Rows of [tokenId, studentId, revokedAt]
+    @Query("SELECT r.tokenId, r.studentId, r.revokedAt FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<Object[]> findActive(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
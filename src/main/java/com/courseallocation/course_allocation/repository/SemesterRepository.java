@@ -14,5 +14,6 @@ public interface SemesterRepository extends JpaRepository<Semester, Long> {
     List<Semester> findByIsActive(Boolean isActive);
     Optional<Semester> findFirstByIsActiveTrue();
     boolean existsBySemesterCode(String semesterCode);
+    List<Semester> findAllByOrderByIdAsc();
 }
 
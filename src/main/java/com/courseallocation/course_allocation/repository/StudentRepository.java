@@ -2,18 +2,43 @@ package com.courseallocation.course_allocation.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.courseallocation.course_allocation.model.Student;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+    @EntityGraph(attributePaths = {"user", "user.department"})
     Optional<Student> findByStudentId(String studentId);
     List<Student> findByProgram(String program);
     List<Student> findByYearOfStudy(Integer yearOfStudy);
     List<Student> findByUser_Department_Id(Long departmentId);
     boolean existsByStudentId(String studentId);
-}
 
+    @EntityGraph(attributePaths = {"user", "user.department"})
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Cursor over every student for exports; must be consumed inside a transaction
+    @EntityGraph(attributePaths = {"user", "user.department"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    Stream<Student> streamAll();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Student s SET s.pin = :pin WHERE s.id = :id")
+    int updatePin(@Param("id") Long id, @Param("pin") String pin);
+}
@@ -1,10 +1,15 @@
 package com.courseallocation.course_allocation.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.courseallocation.course_allocation.model.User;
 import com.courseallocation.course_allocation.model.enums.UserRole;
@@ -15,6 +20,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     List<User> findByRole(UserRole role);
     List<User> findByDepartmentId(Long departmentId);
+
+    long countByDepartmentIdAndRoleIn(Long departmentId, Collection<UserRole> roles);
+
+    // Rows of [departmentId, userCount]
+    @Query("SELECT u.department.id, COUNT(u) FROM User u WHERE u.department IS NOT NULL AND u.role IN :roles " +
+            "GROUP BY u.department.id")
+    List<Object[]> countByDepartmentAndRoleIn(@Param("roles") Collection<UserRole> roles);
+
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
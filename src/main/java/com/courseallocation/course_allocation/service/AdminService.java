@@ -1,6 +1,7 @@
 package com.courseallocation.course_allocation.service;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,6 +12,7 @@ import com.courseallocation.course_allocation.dto.SystemStatisticsResponse;
 import com.courseallocation.course_allocation.model.Course;
 import com.courseallocation.course_allocation.model.Enrollment;
 import com.courseallocation.course_allocation.model.Student;
+import com.courseallocation.course_allocation.model.enums.AuditAction;
 import com.courseallocation.course_allocation.model.enums.EnrollmentStatus;
 import com.courseallocation.course_allocation.model.enums.RequestStatus;
 import com.courseallocation.course_allocation.repository.CourseRepository;
@@ -33,6 +35,9 @@ public class AdminService {
     private final DepartmentRepository departmentRepository;
     private final SemesterRepository semesterRepository;
     private final EnrollmentRequestRepository enrollmentRequestRepository;
+    private final SeatLedgerService seatLedgerService;
+    private final WaitlistService waitlistService;
+    private final AuditService auditService;
 
     @Transactional(readOnly = true)
     public SystemStatisticsResponse getSystemStatistics() {
@@ -83,6 +88,7 @@ public class AdminService {
         }
 
         // Force enrollment regardless of capacity or prerequisites
+        seatLedgerService.forceReserve(course.getId());
         Enrollment enrollment = new Enrollment();
         enrollment.setStudent(student);
         enrollment.setCourse(course);
@@ -90,6 +96,8 @@ public class AdminService {
         enrollment.setStatus(EnrollmentStatus.ENROLLED);
         
         Enrollment saved = enrollmentRepository.save(enrollment);
+        auditService.record(AuditAction.FORCE_ENROLL, "Enrollment", saved.getId(),
+                Map.of("studentId", student.getId(), "courseId", course.getId()));
         
         return mapToEnrollmentResponse(saved);
     }
@@ -97,7 +105,15 @@ public class AdminService {
     public void forceDropEnrollment(Long enrollmentId) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
-
+        auditService.record(AuditAction.FORCE_DROP, "Enrollment", enrollmentId, Map.of(
+                "studentId", enrollment.getStudent().getId(),
+                "courseId", enrollment.getCourse().getId(),
+                "previousStatus", enrollment.getStatus().name()));
+
+        if (enrollment.getStatus() == EnrollmentStatus.ENROLLED) {
+            seatLedgerService.release(enrollment.getCourse().getId());
+            waitlistService.seatsFreed(enrollment.getCourse().getId());
+        }
         enrollment.setStatus(EnrollmentStatus.DROPPED);
         enrollmentRepository.save(enrollment);
     }
@@ -106,8 +122,12 @@ public class AdminService {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
+        auditService.record(AuditAction.CAPACITY_CHANGE, "Course", courseId,
+                Map.of("previousCapacity", course.getMaxCapacity(), "newCapacity", newCapacity, "emergency", true));
         course.setMaxCapacity(newCapacity);
         courseRepository.save(course);
+        seatLedgerService.updateCapacity(courseId, newCapacity);
+        waitlistService.seatsFreed(courseId);
     }
 
     private EnrollmentResponse mapToEnrollmentResponse(Enrollment enrollment) {
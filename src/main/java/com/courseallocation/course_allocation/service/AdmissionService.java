@@ -0,0 +1,166 @@
+package com.courseallocation.course_allocation.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.courseallocation.course_allocation.dto.AdmissionTicketResponse;
+
+/**
+ * Virtual waiting room for the registration-rush write paths. Callers that arrive while the
+ * endpoints are saturated get a numbered ticket; tickets are admitted in order at a fixed rate,
+ * and admitted requests still run behind a bounded number of concurrent permits. A ticket belongs to
+ * the student it was issued to and is good for a single request.
+ */
+@Service
+public class AdmissionService {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int ratePerSecond;
+    private final long acquireTimeoutMillis;
+    private final long ticketTtlNanos;
+    private final Semaphore permits;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong issued = new AtomicLong();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private long admitted;
+    private long lastAdvanceNanos;
+
+    @Autowired
+    public AdmissionService(
+            @Value("${admission.rate-per-second:50}") int ratePerSecond,
+            @Value("${admission.max-concurrent:20}") int maxConcurrent,
+            @Value("${admission.acquire-timeout-ms:2000}") long acquireTimeoutMillis,
+            @Value("${admission.ticket-ttl-seconds:120}") long ticketTtlSeconds) {
+        this(ratePerSecond, maxConcurrent, acquireTimeoutMillis, ticketTtlSeconds, System::nanoTime);
+    }
+
+    // Admission pace and ticket expiry follow the given clock, so tests can step time instead of sleeping
+    AdmissionService(int ratePerSecond, int maxConcurrent, long acquireTimeoutMillis, long ticketTtlSeconds,
+            LongSupplier nanoClock) {
+        this.ratePerSecond = Math.max(1, ratePerSecond);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.ticketTtlNanos = TimeUnit.SECONDS.toNanos(ticketTtlSeconds);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.nanoClock = nanoClock;
+        this.lastAdvanceNanos = nanoClock.getAsLong();
+    }
+
+    public boolean isQueueEmpty() {
+        return admittedUpTo() >= issued.get();
+    }
+
+    public boolean isAdmitted(String ticketId, Long studentId) {
+        Ticket ticket = ticketId != null ? tickets.get(ticketId) : null;
+        if (ticket == null || !ticket.studentId.equals(studentId) || ticket.sequence > admittedUpTo()) {
+            return false;
+        }
+        long now = nanoClock.getAsLong();
+        if (!ticket.admitted) {
+            ticket.admittedAt = now;
+            ticket.admitted = true;
+        } else if (now - ticket.admittedAt > ticketTtlNanos) {
+            tickets.remove(ticketId);
+            return false;
+        }
+        return true;
+    }
+
+    // Spends an admitted ticket; false when a concurrent request already used it
+    public boolean consume(String ticketId) {
+        return tickets.remove(ticketId) != null;
+    }
+
+    public AdmissionTicketResponse issueTicket(Long studentId) {
+        long sequence = issued.incrementAndGet();
+        String ticketId = UUID.randomUUID().toString();
+        tickets.put(ticketId, new Ticket(sequence, studentId));
+        if ((sequence & 1023) == 0) {
+            evictExpired();
+        }
+        return toResponse(ticketId, sequence);
+    }
+
+    public AdmissionTicketResponse getTicketStatus(String ticketId, Long studentId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.studentId.equals(studentId)) {
+            throw new RuntimeException("Admission ticket not found or expired");
+        }
+        return toResponse(ticketId, ticket.sequence);
+    }
+
+    public boolean acquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    // Admits tickets at the configured rate; an empty queue does not bank credit for a later burst
+    private synchronized long admittedUpTo() {
+        long now = nanoClock.getAsLong();
+        long issuedNow = issued.get();
+        if (admitted >= issuedNow) {
+            lastAdvanceNanos = now;
+            return admitted;
+        }
+        long steps = (now - lastAdvanceNanos) * ratePerSecond / NANOS_PER_SECOND;
+        if (steps > 0) {
+            admitted = Math.min(issuedNow, admitted + steps);
+            lastAdvanceNanos += steps * NANOS_PER_SECOND / ratePerSecond;
+        }
+        return admitted;
+    }
+
+    private AdmissionTicketResponse toResponse(String ticketId, long sequence) {
+        long position = Math.max(0, sequence - admittedUpTo());
+        long waitSeconds = (position + ratePerSecond - 1) / ratePerSecond;
+        return new AdmissionTicketResponse(ticketId, position == 0, position, waitSeconds);
+    }
+
+    // Waiting tickets always reach the head eventually; admitted ones start their TTL clock here if never used
+    private void evictExpired() {
+        long now = nanoClock.getAsLong();
+        long admittedSequence = admittedUpTo();
+        tickets.values().removeIf(ticket -> {
+            if (ticket.sequence > admittedSequence) {
+                return false;
+            }
+            if (!ticket.admitted) {
+                ticket.admittedAt = now;
+                ticket.admitted = true;
+            }
+            return now - ticket.admittedAt > ticketTtlNanos;
+        });
+    }
+
+    private static final class Ticket {
+        private final long sequence;
+        private final Long studentId;
+        private volatile long admittedAt;
+        private volatile boolean admitted;
+
+        private Ticket(long sequence, Long studentId) {
+            this.sequence = sequence;
+            this.studentId = studentId;
+        }
+    }
+}
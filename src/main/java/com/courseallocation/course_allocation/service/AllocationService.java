@@ -0,0 +1,142 @@
+package com.courseallocation.course_allocation.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.courseallocation.course_allocation.dto.AllocationResultResponse;
+import com.courseallocation.course_allocation.model.enums.AuditAction;
+import com.courseallocation.course_allocation.model.enums.RequestStatus;
+import com.courseallocation.course_allocation.repository.CourseRepository;
+import com.courseallocation.course_allocation.repository.EnrollmentRepository;
+import com.courseallocation.course_allocation.repository.EnrollmentRequestRepository;
+import com.courseallocation.course_allocation.repository.SemesterRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AllocationService {
+
+    private final EnrollmentRequestRepository enrollmentRequestRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final SemesterRepository semesterRepository;
+    private final SeatLedgerService seatLedgerService;
+    private final WaitlistService waitlistService;
+    private final ResourceVersionService resourceVersionService;
+    private final AuditService auditService;
+    private final ForkJoinPool allocationPool;
+
+    // Highest priority first, earliest request breaks ties
+    private static final Comparator<Candidate> RANKING = Comparator.comparingInt(Candidate::priority).reversed()
+            .thenComparing(Candidate::requestDate)
+            .thenComparing(Candidate::requestId);
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${allocation.write-chunk-size:5000}")
+    private int writeChunkSize;
+
+    public AllocationResultResponse runAllocation(Long semesterId) {
+        if (!semesterRepository.existsById(semesterId)) {
+            throw new RuntimeException("Semester not found with id: " + semesterId);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("An allocation run is already in progress");
+        }
+        // Cleared only once the run's transaction has finished, so the next run starts from its committed writes
+        TransactionCallbacks.afterCompletion(() -> running.set(false));
+        return allocate(semesterId);
+    }
+
+    private AllocationResultResponse allocate(Long semesterId) {
+        long started = System.currentTimeMillis();
+
+        int rejected = enrollmentRequestRepository.rejectPendingAlreadyEnrolled(semesterId);
+        enrollmentRequestRepository.calculatePendingPriorities(semesterId);
+
+        Map<Long, List<Candidate>> partitions = new HashMap<>();
+        int totalRequests = 0;
+        for (Object[] row : enrollmentRequestRepository.findAllocationCandidates(semesterId, RequestStatus.PENDING)) {
+            Candidate candidate = new Candidate((Long) row[0],
+                    row[2] != null ? (Integer) row[2] : 0, (LocalDateTime) row[3]);
+            partitions.computeIfAbsent((Long) row[1], k -> new ArrayList<>()).add(candidate);
+            totalRequests++;
+        }
+
+        // Seats are taken from the ledger on this thread so a rollback hands them back
+        Map<Long, Integer> grantedSeats = new HashMap<>();
+        partitions.forEach((courseId, candidates) ->
+                grantedSeats.put(courseId, seatLedgerService.reserveUpTo(courseId, candidates.size())));
+
+        List<CourseAllocation> results = allocationPool.submit(() -> partitions.entrySet().parallelStream()
+                .map(entry -> fillSeats(entry.getValue(), grantedSeats.get(entry.getKey())))
+                .toList()).join();
+
+        List<Long> approvedIds = new ArrayList<>();
+        List<Long> waitlistedIds = new ArrayList<>();
+        for (CourseAllocation result : results) {
+            approvedIds.addAll(result.approved());
+            waitlistedIds.addAll(result.waitlisted());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Long> chunk : chunks(approvedIds)) {
+            enrollmentRepository.insertFromRequests(chunk);
+            enrollmentRequestRepository.updateStatusByIdIn(chunk, RequestStatus.APPROVED, now);
+        }
+        for (List<Long> chunk : chunks(waitlistedIds)) {
+            enrollmentRequestRepository.updateStatusByIdIn(chunk, RequestStatus.WAITLISTED, now);
+        }
+        // Approvals whose enrollment already existed insert nothing, so the counts are taken from the rows, and the
+        // ledger follows them once they are committed instead of keeping the seats it granted
+        courseRepository.refreshCurrentEnrollmentBySemesterId(semesterId);
+        seatLedgerService.resyncAfterCommit(partitions.keySet());
+        resourceVersionService.allStudentsChanged();
+        waitlistService.refreshAfterCommit(partitions.keySet());
+        auditService.record(AuditAction.ALLOCATION_RUN, "Semester", semesterId, Map.of(
+                "approved", approvedIds.size(), "waitlisted", waitlistedIds.size(), "rejected", rejected));
+
+        return new AllocationResultResponse(
+                semesterId,
+                partitions.size(),
+                totalRequests + rejected,
+                approvedIds.size(),
+                waitlistedIds.size(),
+                rejected,
+                System.currentTimeMillis() - started,
+                now
+        );
+    }
+
+    private CourseAllocation fillSeats(List<Candidate> candidates, int seats) {
+        candidates.sort(RANKING);
+        List<Long> ranked = candidates.stream().map(Candidate::requestId).toList();
+        return new CourseAllocation(ranked.subList(0, seats), ranked.subList(seats, ranked.size()));
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += writeChunkSize) {
+            chunks.add(ids.subList(i, Math.min(i + writeChunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    private record Candidate(Long requestId, int priority, LocalDateTime requestDate) {
+    }
+
+    private record CourseAllocation(List<Long> approved, List<Long> waitlisted) {
+    }
+}
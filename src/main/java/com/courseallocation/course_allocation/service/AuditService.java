@@ -0,0 +1,268 @@
+package com.courseallocation.course_allocation.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.courseallocation.course_allocation.config.StudentPrincipal;
+import com.courseallocation.course_allocation.dto.AuditStatsResponse;
+import com.courseallocation.course_allocation.model.AuditLog;
+import com.courseallocation.course_allocation.model.enums.AuditAction;
+import com.courseallocation.course_allocation.repository.AuditLogRepository;
+import com.courseallocation.course_allocation.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Audit trail written off the request path. Events are taken once the caller's transaction commits, with the acting
+ * user taken from the caller's token, placed in a bounded lock-free ring buffer and persisted by a single background
+ * writer in batches. Batches go through {@code saveAll} rather than COPY: with pooled ids and the JDBC batching
+ * settings, including the driver's {@code reWriteBatchedInserts}, each batch reaches the database as multi-row
+ * INSERTs, and the writer runs no other statement. The writer flushes whenever a batch fills up and at least every
+ * flush interval. When the buffer is full, callers wait up to the offer timeout for room, and past that the event is
+ * dropped and counted rather than holding up the request any longer.
+ */
+@Slf4j
+@Service
+public class AuditService {
+
+    private final AuditLogRepository auditLogRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+
+    private final RingBuffer<AuditEvent> buffer;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public AuditService(AuditLogRepository auditLogRepository,
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${audit.buffer-size:65536}") int bufferSize,
+            @Value("${audit.batch-size:500}") int batchSize,
+            @Value("${audit.flush-interval-ms:1000}") long flushIntervalMillis,
+            @Value("${audit.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.auditLogRepository = auditLogRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        this.buffer = new RingBuffer<>(bufferSize);
+        this.writer = new Thread(this::drainLoop, "audit-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    // Writes out whatever is still buffered before the persistence layer goes away
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Records an event on behalf of the current caller. Nothing is recorded if the surrounding transaction rolls
+     * back. The details are serialized to JSON by the writer, so callers must not modify the map afterwards.
+     */
+    public void record(AuditAction action, String entityType, Long entityId, Map<String, Object> details) {
+        AuditEvent event = new AuditEvent(action, entityType, entityId, currentUserId(), currentIpAddress(),
+                LocalDateTime.now(), details);
+        TransactionCallbacks.afterCommit(() -> enqueue(event));
+    }
+
+    public AuditStatsResponse getStats() {
+        return new AuditStatsResponse(buffer.capacity(), buffer.size(), written.sum(), batches.sum(), blocked.sum(),
+                dropped.sum(), failed.sum());
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (buffer.offer(event)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+
+        // Back-pressure: hold the caller briefly while the writer catches up
+        blocked.increment();
+        LockSupport.unpark(writer);
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(event)) {
+                return;
+            }
+        }
+        dropped.increment();
+        if ((dropped.sum() & 1023) == 1) {
+            log.warn("Audit buffer full, {} events dropped so far", dropped.sum());
+        }
+    }
+
+    private void drainLoop() {
+        while (running || buffer.size() > 0) {
+            if (running && buffer.size() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            AuditEvent event;
+            while ((event = buffer.poll()) != null) {
+                batch.add(event);
+                if (batch.size() == batchSize) {
+                    writeSafely(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeSafely(batch);
+            }
+        }
+    }
+
+    private void writeSafely(List<AuditEvent> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            written.add(batch.size());
+            batches.increment();
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.error("Failed to write {} audit events", batch.size(), e);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        List<AuditLog> logs = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            Long userId = event.userId();
+            logs.add(new AuditLog(null, userId != null ? userRepository.getReferenceById(userId) : null,
+                    event.action().name(), event.entityType(), event.entityId(), event.timestamp(),
+                    toJson(event.details()), event.ipAddress()));
+        }
+        auditLogRepository.saveAll(logs);
+    }
+
+    private String toJson(Map<String, Object> details) {
+        if (details == null || details.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Audit details are not serializable", e);
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof StudentPrincipal principal
+                ? principal.userId()
+                : null;
+    }
+
+    private static String currentIpAddress() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getRemoteAddr()
+                : null;
+    }
+
+    private record AuditEvent(AuditAction action, String entityType, Long entityId, Long userId,
+            String ipAddress, LocalDateTime timestamp, Map<String, Object> details) {
+    }
+
+    /**
+     * Bounded multi-producer, single-consumer queue. Each slot carries a sequence number telling producers whether
+     * it is free for their lap and the consumer whether it has been published, so neither side takes a lock.
+     */
+    static final class RingBuffer<T> {
+        private final AtomicReferenceArray<T> slots;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        // Written by the consumer only
+        private volatile long head;
+
+        RingBuffer(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(T event) {
+            while (true) {
+                long position = tail.get();
+                int index = (int) (position & mask);
+                long sequence = sequences.get(index);
+                if (sequence < position) {
+                    return false;
+                }
+                if (sequence == position && tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            }
+        }
+
+        T poll() {
+            long position = head;
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                return null;
+            }
+            T event = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, position + mask + 1);
+            head = position + 1;
+            return event;
+        }
+
+        int size() {
+            return (int) Math.max(0, tail.get() - head);
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+}
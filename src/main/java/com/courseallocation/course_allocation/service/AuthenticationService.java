@@ -3,9 +3,11 @@ package com.courseallocation.course_allocation.service;
 import java.time.LocalDateTime;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.courseallocation.course_allocation.config.JwtTokenProvider;
+import com.courseallocation.course_allocation.config.StudentPrincipal;
 import com.courseallocation.course_allocation.dto.LoginRequest;
 import com.courseallocation.course_allocation.dto.LoginResponse;
 import com.courseallocation.course_allocation.dto.RegisterRequest;
@@ -29,19 +31,32 @@ public class AuthenticationService {
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final CredentialService credentialService;
 
+    // No transaction: the student and user are fetched together in the repository's own short read-only
+    // transaction, and with open-in-view off no connection is held while the PIN check waits on the hashing pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponse login(LoginRequest request) {
         Student student = studentRepository.findByStudentId(request.getStudentId())
                 .orElseThrow(() -> new RuntimeException("Invalid student ID or PIN"));
 
-        // TODO: Add proper password encoding and verification
-        if (!student.getPin().equals(request.getPin())) {
+        if (!credentialService.matches(request.getPin(), student.getPin())) {
             throw new RuntimeException("Invalid student ID or PIN");
         }
 
-        String token = jwtTokenProvider.generateToken(student.getId(), student.getStudentId());
-
         User user = student.getUser();
+        // Plain-text and under-cost PINs are migrated while the PIN itself is at hand
+        String upgraded = credentialService.rehashIfNeeded(request.getPin(), student.getPin());
+        if (upgraded != null) {
+            studentRepository.updatePin(student.getId(), upgraded);
+            if (user != null) {
+                userRepository.updatePassword(user.getId(), upgraded);
+            }
+        }
+
+        String token = jwtTokenProvider.generateToken(student);
+
         return new LoginResponse(
                 student.getId(),
                 student.getStudentId(),
@@ -54,15 +69,6 @@ public class AuthenticationService {
         );
     }
 
-    public Student getStudentByToken(String token) {
-        if (!jwtTokenProvider.validateToken(token)) {
-            throw new RuntimeException("Invalid or expired token");
-        }
-        Long studentId = jwtTokenProvider.getStudentIdFromToken(token);
-        return studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-    }
-
     public LoginResponse register(RegisterRequest request) {
         // Check if student ID already exists
         if (studentRepository.findByStudentId(request.getStudentId()).isPresent()) {
@@ -74,11 +80,13 @@ public class AuthenticationService {
             throw new RuntimeException("Email already registered");
         }
 
+        String pinHash = credentialService.hash(request.getPin());
+
         // Create User entity
         User user = new User();
         user.setUsername(request.getStudentId());
         user.setEmail(request.getEmail());
-        user.setPassword(request.getPin()); // TODO: Add password encoding
+        user.setPassword(pinHash);
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setRole(UserRole.STUDENT);
@@ -98,7 +106,7 @@ public class AuthenticationService {
         // Create Student entity
         Student student = new Student();
         student.setStudentId(request.getStudentId());
-        student.setPin(request.getPin()); // TODO: Add password encoding
+        student.setPin(pinHash);
         student.setUser(savedUser);
         student.setProgram(request.getProgram());
         student.setYearOfStudy(request.getYearOfStudy() != null ? request.getYearOfStudy() : 1);
@@ -109,7 +117,7 @@ public class AuthenticationService {
         Student savedStudent = studentRepository.save(student);
 
         // Generate JWT token
-        String token = jwtTokenProvider.generateToken(savedStudent.getId(), savedStudent.getStudentId());
+        String token = jwtTokenProvider.generateToken(savedStudent);
 
         return new LoginResponse(
                 savedStudent.getId(),
@@ -124,24 +132,24 @@ public class AuthenticationService {
     }
 
     public String refreshToken(String oldToken) {
-        if (!jwtTokenProvider.validateToken(oldToken)) {
+        StudentPrincipal principal = jwtTokenProvider.parsePrincipal(oldToken);
+        if (principal == null || tokenRevocationService.isRevoked(principal)) {
             throw new RuntimeException("Invalid or expired token");
         }
 
-        Long studentId = jwtTokenProvider.getStudentIdFromToken(oldToken);
-        Student student = studentRepository.findById(studentId)
+        Student student = studentRepository.findById(principal.studentId())
                 .orElseThrow(() -> new RuntimeException("Student not found"));
 
-        // Generate new token
-        return jwtTokenProvider.generateToken(student.getId(), student.getStudentId());
+        // Generate new token, picking up the current year and program
+        return jwtTokenProvider.generateToken(student);
     }
 
-    public UserProfileResponse getProfile(String token) {
-        if (!jwtTokenProvider.validateToken(token)) {
-            throw new RuntimeException("Invalid or expired token");
-        }
+    public void logout(StudentPrincipal principal, String token) {
+        tokenRevocationService.revokeToken(principal, token);
+    }
 
-        Long studentId = jwtTokenProvider.getStudentIdFromToken(token);
+    @Transactional(readOnly = true)
+    public UserProfileResponse getProfile(Long studentId) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
 
@@ -0,0 +1,171 @@
+package com.courseallocation.course_allocation.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.courseallocation.course_allocation.dto.CourseResponse;
+import com.courseallocation.course_allocation.dto.DepartmentResponse;
+import com.courseallocation.course_allocation.dto.SemesterResponse;
+
+/**
+ * One immutable version of the catalog: courses, departments and semesters, already denormalised into their
+ * response shapes and indexed the ways the catalog endpoints look them up. Rows are shared between readers,
+ * so they must never be modified.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final LocalDateTime builtAt;
+    // Highest change request this version is known to include
+    final long covers;
+
+    private final List<CourseResponse> courses;
+    private final long[] courseIds;
+    private final Map<Long, CourseResponse> coursesById;
+    private final Map<String, CourseResponse> coursesByCode;
+    private final Map<Long, List<CourseResponse>> coursesByDepartment;
+    private final Map<Long, List<CourseResponse>> coursesBySemester;
+    private final CourseFacets courseFacets;
+
+    private final List<DepartmentResponse> departments;
+    private final Map<Long, DepartmentResponse> departmentsById;
+    private final Map<String, DepartmentResponse> departmentsByCode;
+
+    private final List<SemesterResponse> semesters;
+    private final long[] semesterIds;
+    private final Map<Long, SemesterResponse> semestersById;
+    private final List<SemesterResponse> activeSemesters;
+
+    // Courses come with the id of their department, aligned by index; all lists must be sorted by id
+    CatalogSnapshot(long version, long covers, List<CourseResponse> courses, long[] courseDepartmentIds,
+            List<DepartmentResponse> departments, List<SemesterResponse> semesters) {
+        this.version = version;
+        this.covers = covers;
+        this.builtAt = LocalDateTime.now();
+
+        this.courses = Collections.unmodifiableList(courses);
+        this.courseIds = new long[courses.size()];
+        this.coursesById = new HashMap<>(courses.size() * 2);
+        this.coursesByCode = new HashMap<>(courses.size() * 2);
+        Map<Long, List<CourseResponse>> byDepartment = new HashMap<>();
+        Map<Long, List<CourseResponse>> bySemester = new HashMap<>();
+        for (int i = 0; i < courses.size(); i++) {
+            CourseResponse course = courses.get(i);
+            courseIds[i] = course.getId();
+            coursesById.put(course.getId(), course);
+            coursesByCode.put(course.getCourseCode(), course);
+            if (courseDepartmentIds[i] != 0) {
+                byDepartment.computeIfAbsent(courseDepartmentIds[i], k -> new ArrayList<>()).add(course);
+            }
+            if (course.getSemesterId() != null) {
+                bySemester.computeIfAbsent(course.getSemesterId(), k -> new ArrayList<>()).add(course);
+            }
+        }
+        this.coursesByDepartment = freeze(byDepartment);
+        this.coursesBySemester = freeze(bySemester);
+        this.courseFacets = new CourseFacets(this.courses, courseDepartmentIds);
+
+        this.departments = Collections.unmodifiableList(departments);
+        this.departmentsById = new HashMap<>(departments.size() * 2);
+        this.departmentsByCode = new HashMap<>(departments.size() * 2);
+        for (DepartmentResponse department : departments) {
+            departmentsById.put(department.getId(), department);
+            departmentsByCode.put(department.getCode(), department);
+        }
+
+        this.semesters = Collections.unmodifiableList(semesters);
+        this.semesterIds = semesters.stream().mapToLong(SemesterResponse::getId).toArray();
+        this.semestersById = new HashMap<>(semesters.size() * 2);
+        List<SemesterResponse> active = new ArrayList<>();
+        for (SemesterResponse semester : semesters) {
+            semestersById.put(semester.getId(), semester);
+            if (Boolean.TRUE.equals(semester.getIsActive())) {
+                active.add(semester);
+            }
+        }
+        this.activeSemesters = Collections.unmodifiableList(active);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public List<CourseResponse> getCourses() {
+        return courses;
+    }
+
+    // Ids of getCourses(), in the same order; must not be modified
+    public long[] getCourseIds() {
+        return courseIds;
+    }
+
+    // Position in getCourses() of the first course with id > afterId
+    public int getCoursePositionAfter(long afterId) {
+        return firstAfter(courseIds, afterId);
+    }
+
+    public CourseFacets getCourseFacets() {
+        return courseFacets;
+    }
+
+    public Optional<CourseResponse> getCourse(Long id) {
+        return Optional.ofNullable(coursesById.get(id));
+    }
+
+    public Optional<CourseResponse> getCourseByCode(String courseCode) {
+        return Optional.ofNullable(coursesByCode.get(courseCode));
+    }
+
+    public List<CourseResponse> getCoursesByDepartment(Long departmentId) {
+        return coursesByDepartment.getOrDefault(departmentId, Collections.emptyList());
+    }
+
+    public List<CourseResponse> getCoursesBySemester(Long semesterId) {
+        return coursesBySemester.getOrDefault(semesterId, Collections.emptyList());
+    }
+
+    public List<DepartmentResponse> getDepartments() {
+        return departments;
+    }
+
+    public Optional<DepartmentResponse> getDepartment(Long id) {
+        return Optional.ofNullable(departmentsById.get(id));
+    }
+
+    public Optional<DepartmentResponse> getDepartmentByCode(String code) {
+        return Optional.ofNullable(departmentsByCode.get(code));
+    }
+
+    public Optional<SemesterResponse> getSemester(Long id) {
+        return Optional.ofNullable(semestersById.get(id));
+    }
+
+    public List<SemesterResponse> getSemestersAfter(long afterId, int limit) {
+        int from = firstAfter(semesterIds, afterId);
+        return semesters.subList(from, Math.min(semesters.size(), from + limit));
+    }
+
+    public List<SemesterResponse> getActiveSemesters() {
+        return activeSemesters;
+    }
+
+    private static int firstAfter(long[] sortedIds, long afterId) {
+        int index = Arrays.binarySearch(sortedIds, afterId);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static Map<Long, List<CourseResponse>> freeze(Map<Long, List<CourseResponse>> grouped) {
+        grouped.replaceAll((id, list) -> Collections.unmodifiableList(list));
+        return grouped;
+    }
+}
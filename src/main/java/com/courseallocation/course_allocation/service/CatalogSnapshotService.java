@@ -0,0 +1,167 @@
+package com.courseallocation.course_allocation.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.courseallocation.course_allocation.dto.CourseResponse;
+import com.courseallocation.course_allocation.dto.DepartmentResponse;
+import com.courseallocation.course_allocation.dto.SemesterResponse;
+import com.courseallocation.course_allocation.model.Department;
+import com.courseallocation.course_allocation.model.Semester;
+import com.courseallocation.course_allocation.model.enums.CourseStatus;
+import com.courseallocation.course_allocation.repository.CourseRepository;
+import com.courseallocation.course_allocation.repository.DepartmentRepository;
+import com.courseallocation.course_allocation.repository.SemesterRepository;
+import com.courseallocation.course_allocation.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current {@link CatalogSnapshot} behind a single atomic reference, so catalog reads take no locks
+ * and open no transactions. Services that change courses, departments or semesters call
+ * {@link #refreshAfterCommit()}; once their transaction commits a new version is built in four queries and
+ * swapped in before the request returns. Concurrent refreshes are coalesced into one build.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService {
+
+    private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
+    private final SemesterRepository semesterRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong versions = new AtomicLong();
+    private final Object buildLock = new Object();
+
+    public CatalogSnapshotService(CourseRepository courseRepository,
+            DepartmentRepository departmentRepository,
+            SemesterRepository semesterRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.departmentRepository = departmentRepository;
+        this.semesterRepository = semesterRepository;
+        this.userRepository = userRepository;
+        // Builds may run from an afterCommit callback, where the finished transaction is still bound
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    // Registers at most one rebuild per transaction, however many catalog rows it touches
+    public void refreshAfterCommit() {
+        TransactionCallbacks.afterCommitOnce(this, this::refresh);
+    }
+
+    private CatalogSnapshot refresh() {
+        long wanted = requested.incrementAndGet();
+        synchronized (buildLock) {
+            CatalogSnapshot snapshot = current.get();
+            // Another thread started a build after our change committed; its version already includes it
+            if (snapshot != null && snapshot.covers >= wanted) {
+                return snapshot;
+            }
+            long covers = requested.get();
+            long startedAt = System.nanoTime();
+            CatalogSnapshot built = transactionTemplate.execute(status -> build(covers));
+            current.set(built);
+            log.debug("Catalog snapshot v{} built in {} ms", built.getVersion(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+            return built;
+        }
+    }
+
+    private CatalogSnapshot build(long covers) {
+        List<Object[]> rows = courseRepository.findAllCourseRows();
+        List<CourseResponse> courses = new ArrayList<>(rows.size());
+        long[] courseDepartmentIds = new long[rows.size()];
+        Map<Long, Integer> coursesPerDepartment = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            courses.add(mapRowToCourse(row));
+            if (row[18] != null) {
+                courseDepartmentIds[i] = (Long) row[18];
+                coursesPerDepartment.merge((Long) row[18], 1, Integer::sum);
+            }
+        }
+
+        Map<Long, Integer> usersPerDepartment = new HashMap<>();
+        for (Object[] row : userRepository.countByDepartmentAndRoleIn(DepartmentService.TEACHING_ROLES)) {
+            usersPerDepartment.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        List<DepartmentResponse> departments = new ArrayList<>();
+        for (Department department : departmentRepository.findAllByOrderByIdAsc()) {
+            departments.add(mapToDepartment(department,
+                    coursesPerDepartment.getOrDefault(department.getId(), 0),
+                    usersPerDepartment.getOrDefault(department.getId(), 0)));
+        }
+
+        List<SemesterResponse> semesters = new ArrayList<>();
+        for (Semester semester : semesterRepository.findAllByOrderByIdAsc()) {
+            semesters.add(new SemesterResponse(semester.getId(), semester.getSemesterCode(), semester.getName(),
+                    semester.getStartDate(), semester.getEndDate(), semester.getIsActive(),
+                    semester.getCreatedAt(), semester.getUpdatedAt()));
+        }
+
+        return new CatalogSnapshot(versions.incrementAndGet(), covers, courses, courseDepartmentIds,
+                departments, semesters);
+    }
+
+    // Seat counts change with every enrollment, so they are left out here and read live from the seat ledger
+    private CourseResponse mapRowToCourse(Object[] row) {
+        return new CourseResponse(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                (Integer) row[4],
+                (Integer) row[5],
+                (Integer) row[6],
+                null,
+                (String) row[7],
+                (String) row[8],
+                (Long) row[9],
+                row[9] != null ? row[10] + " " + row[11] : null,
+                (Long) row[12],
+                (String) row[13],
+                (String) row[14],
+                row[15] != null ? ((CourseStatus) row[15]).name() : null,
+                (LocalDateTime) row[16],
+                (LocalDateTime) row[17]
+        );
+    }
+
+    private DepartmentResponse mapToDepartment(Department department, int totalCourses, int totalLecturers) {
+        DepartmentResponse response = new DepartmentResponse();
+        response.setId(department.getId());
+        response.setCode(department.getCode());
+        response.setName(department.getName());
+        response.setCreatedAt(department.getCreatedAt());
+        if (department.getHod() != null) {
+            response.setHodUserId(department.getHod().getId());
+            response.setHodName(department.getHod().getFirstName() + " " + department.getHod().getLastName());
+        }
+        response.setTotalCourses(totalCourses);
+        response.setTotalLecturers(totalLecturers);
+        return response;
+    }
+}
@@ -0,0 +1,220 @@
+package com.courseallocation.course_allocation.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.courseallocation.course_allocation.dto.CourseResponse;
+import com.courseallocation.course_allocation.dto.CourseSuggestion;
+
+/**
+ * Typeahead over course codes and title words, served from an immutable prefix trie. Every trie node keeps the
+ * sorted list of courses below it, so a keystroke costs one walk down the trie plus a bounded top-N pass.
+ * Ranking uses the live seat ledger: courses with free seats first, then the most enrolled.
+ * Course changes rebuild the trie after commit and swap it in; readers never lock.
+ */
+@Service
+public class CourseAutocompleteService {
+
+    private final SeatLedgerService seatLedgerService;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private volatile Trie trie = new Trie(new Entry[0], new Node());
+
+    public CourseAutocompleteService(SeatLedgerService seatLedgerService,
+            @Value("${autocomplete.default-limit:10}") int defaultLimit,
+            @Value("${autocomplete.max-limit:50}") int maxLimit) {
+        this.seatLedgerService = seatLedgerService;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public void rebuild(Collection<CourseResponse> courses) {
+        synchronized (entries) {
+            entries.clear();
+            courses.forEach(course -> entries.put(course.getId(), toEntry(course)));
+            trie = build();
+        }
+    }
+
+    public void index(CourseResponse course) {
+        Entry entry = toEntry(course);
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (entries) {
+                entries.put(entry.id, entry);
+                trie = build();
+            }
+        });
+    }
+
+    public void remove(Long courseId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (entries) {
+                if (entries.remove(courseId) != null) {
+                    trie = build();
+                }
+            }
+        });
+    }
+
+    public List<CourseSuggestion> suggest(String prefix, Integer limit) {
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        String[] tokens = normalize(prefix).split(" ");
+        if (tokens[0].isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Trie current = trie;
+        int[] matches = null;
+        for (String token : tokens) {
+            Node node = current.root.find(token);
+            if (node == null) {
+                return new ArrayList<>();
+            }
+            matches = matches == null ? node.slots : intersect(matches, node.slots);
+        }
+
+        long[] ids = new long[matches.length];
+        for (int i = 0; i < matches.length; i++) {
+            ids[i] = current.entries[matches[i]].id;
+        }
+        int[] available = seatLedgerService.getAvailableSeats(ids);
+        int[] enrolled = seatLedgerService.getEnrolledCounts(ids);
+
+        // Partial selection sort: N is small, the match list may not be
+        Integer[] order = new Integer[matches.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        int top = Math.min(size, order.length);
+        for (int i = 0; i < top; i++) {
+            int best = i;
+            for (int j = i + 1; j < order.length; j++) {
+                if (ranksBefore(order[j], order[best], available, enrolled, current, matches)) {
+                    best = j;
+                }
+            }
+            Integer swap = order[i];
+            order[i] = order[best];
+            order[best] = swap;
+        }
+
+        List<CourseSuggestion> suggestions = new ArrayList<>(top);
+        for (int i = 0; i < top; i++) {
+            int k = order[i];
+            Entry entry = current.entries[matches[k]];
+            suggestions.add(new CourseSuggestion(entry.id, entry.courseCode, entry.title, available[k], enrolled[k]));
+        }
+        return suggestions;
+    }
+
+    private boolean ranksBefore(int a, int b, int[] available, int[] enrolled, Trie current, int[] matches) {
+        boolean openA = available[a] > 0;
+        boolean openB = available[b] > 0;
+        if (openA != openB) {
+            return openA;
+        }
+        if (enrolled[a] != enrolled[b]) {
+            return enrolled[a] > enrolled[b];
+        }
+        return current.entries[matches[a]].courseCode.compareTo(current.entries[matches[b]].courseCode) < 0;
+    }
+
+    private Trie build() {
+        Entry[] sorted = entries.values().toArray(new Entry[0]);
+        Arrays.sort(sorted, (a, b) -> a.courseCode.compareTo(b.courseCode));
+
+        Map<Node, IntList> slots = new HashMap<>();
+        Node root = new Node();
+        for (int slot = 0; slot < sorted.length; slot++) {
+            for (String key : sorted[slot].keys) {
+                Node node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                    IntList list = slots.computeIfAbsent(node, n -> new IntList());
+                    // Slots are visited in ascending order, so a repeat can only be the last one added
+                    if (list.size == 0 || list.values[list.size - 1] != slot) {
+                        list.add(slot);
+                    }
+                }
+            }
+        }
+        slots.forEach((node, list) -> node.slots = Arrays.copyOf(list.values, list.size));
+        return new Trie(sorted, root);
+    }
+
+    private Entry toEntry(CourseResponse course) {
+        List<String> keys = new ArrayList<>();
+        String code = normalize(course.getCourseCode());
+        keys.add(code.replace(" ", ""));
+        keys.addAll(Arrays.asList(code.split(" ")));
+        keys.addAll(Arrays.asList(normalize(course.getTitle()).split(" ")));
+        keys.removeIf(String::isEmpty);
+        return new Entry(course.getId(), course.getCourseCode(), course.getTitle(),
+                keys.stream().distinct().toArray(String[]::new));
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length;) {
+            if (a[i] == b[j]) {
+                result[size++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private record Entry(long id, String courseCode, String title, String[] keys) {
+    }
+
+    private record Trie(Entry[] entries, Node root) {
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private int[] slots = new int[0];
+
+        private Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
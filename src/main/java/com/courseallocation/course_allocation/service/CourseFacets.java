@@ -0,0 +1,183 @@
+package com.courseallocation.course_allocation.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.courseallocation.course_allocation.dto.CourseFilterRequest;
+import com.courseallocation.course_allocation.dto.CourseResponse;
+
+/**
+ * Bitset indexes over the courses of one {@link CatalogSnapshot}, one bitset per facet value with bit i standing
+ * for the i-th course in id order. A filter is the AND of the selected values' bitsets; facet counts are taken
+ * over the courses that pass every other filter. Seat availability changes with each enrollment, so that facet
+ * is computed per request from the seat ledger.
+ */
+public final class CourseFacets {
+
+    public static final String DEPARTMENT = "departmentId";
+    public static final String LEVEL = "level";
+    public static final String CREDITS = "credits";
+    public static final String STATUS = "status";
+    public static final String SEMESTER = "semesterId";
+    public static final String LECTURER = "lecturerId";
+    public static final String HAS_SEATS = "hasSeats";
+
+    private static final String[] SEAT_VALUES = {"false", "true"};
+
+    private final int size;
+    private final Map<String, Facet> facets = new LinkedHashMap<>();
+
+    CourseFacets(List<CourseResponse> courses, long[] courseDepartmentIds) {
+        this.size = courses.size();
+        Long[] departmentIds = new Long[size];
+        for (int i = 0; i < size; i++) {
+            departmentIds[i] = courseDepartmentIds[i] != 0 ? courseDepartmentIds[i] : null;
+        }
+        facets.put(DEPARTMENT, Facet.of(size, i -> departmentIds[i]));
+        facets.put(LEVEL, Facet.of(size, i -> courses.get(i).getLevel()));
+        facets.put(CREDITS, Facet.of(size, i -> courses.get(i).getCredits()));
+        facets.put(STATUS, Facet.of(size, i -> courses.get(i).getStatus()));
+        facets.put(SEMESTER, Facet.of(size, i -> courses.get(i).getSemesterId()));
+        facets.put(LECTURER, Facet.of(size, i -> courses.get(i).getAssignedLecturerId()));
+    }
+
+    // available holds the free seats of every course, in snapshot order
+    public Result filter(CourseFilterRequest filter, int[] available) {
+        Map<String, Facet> all = new LinkedHashMap<>(facets);
+        all.put(HAS_SEATS, seatFacet(available));
+
+        Map<String, BitSet> selected = new LinkedHashMap<>();
+        select(selected, all, DEPARTMENT, filter.getDepartmentId());
+        select(selected, all, LEVEL, filter.getLevel());
+        select(selected, all, CREDITS, filter.getCredits());
+        select(selected, all, STATUS, filter.getStatus() != null ? filter.getStatus().toUpperCase() : null);
+        select(selected, all, SEMESTER, filter.getSemesterId());
+        select(selected, all, LECTURER, filter.getLecturerId());
+        select(selected, all, HAS_SEATS, filter.getHasSeats());
+
+        BitSet matches = everything();
+        selected.values().forEach(matches::and);
+
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Facet> entry : all.entrySet()) {
+            BitSet base = selected.containsKey(entry.getKey()) ? everything() : matches;
+            if (base != matches) {
+                selected.forEach((name, bits) -> {
+                    if (!name.equals(entry.getKey())) {
+                        base.and(bits);
+                    }
+                });
+            }
+            counts.put(entry.getKey(), entry.getValue().count(base));
+        }
+        return new Result(matches, counts);
+    }
+
+    private void select(Map<String, BitSet> selected, Map<String, Facet> all, String name, Object value) {
+        if (value != null) {
+            selected.put(name, all.get(name).bitsFor(String.valueOf(value)));
+        }
+    }
+
+    private BitSet everything() {
+        BitSet bits = new BitSet(size);
+        bits.set(0, size);
+        return bits;
+    }
+
+    private Facet seatFacet(int[] available) {
+        int[] ordinals = new int[size];
+        BitSet[] bits = {new BitSet(size), new BitSet(size)};
+        for (int i = 0; i < size; i++) {
+            ordinals[i] = available[i] > 0 ? 1 : 0;
+            bits[ordinals[i]].set(i);
+        }
+        return new Facet(SEAT_VALUES, ordinals, bits);
+    }
+
+    public record Result(BitSet matches, Map<String, Map<String, Integer>> facets) {
+    }
+
+    private static final class Facet {
+        private final String[] values;
+        private final int[] ordinals; // value ordinal per course, -1 when the course has no value
+        private final BitSet[] bits;
+        private final Map<String, Integer> ordinalByValue = new HashMap<>();
+
+        private Facet(String[] values, int[] ordinals, BitSet[] bits) {
+            this.values = values;
+            this.ordinals = ordinals;
+            this.bits = bits;
+            for (int i = 0; i < values.length; i++) {
+                ordinalByValue.put(values[i], i);
+            }
+        }
+
+        private static Facet of(int size, Function<Integer, Object> valueOf) {
+            String[] raw = new String[size];
+            List<String> distinct = new ArrayList<>();
+            Map<String, Boolean> seen = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                Object value = valueOf.apply(i);
+                if (value != null) {
+                    raw[i] = String.valueOf(value);
+                    if (seen.putIfAbsent(raw[i], Boolean.TRUE) == null) {
+                        distinct.add(raw[i]);
+                    }
+                }
+            }
+            String[] values = distinct.toArray(new String[0]);
+            Arrays.sort(values, Facet::compareValues);
+
+            BitSet[] bits = new BitSet[values.length];
+            for (int i = 0; i < values.length; i++) {
+                bits[i] = new BitSet(size);
+            }
+            Facet facet = new Facet(values, new int[size], bits);
+            for (int i = 0; i < size; i++) {
+                facet.ordinals[i] = raw[i] != null ? facet.ordinalByValue.get(raw[i]) : -1;
+                if (facet.ordinals[i] >= 0) {
+                    bits[facet.ordinals[i]].set(i);
+                }
+            }
+            return facet;
+        }
+
+        // Copy, since callers AND it in place
+        private BitSet bitsFor(String value) {
+            Integer ordinal = ordinalByValue.get(value);
+            return ordinal != null ? (BitSet) bits[ordinal].clone() : new BitSet();
+        }
+
+        private Map<String, Integer> count(BitSet base) {
+            int[] counts = new int[values.length];
+            for (int i = base.nextSetBit(0); i >= 0; i = base.nextSetBit(i + 1)) {
+                if (ordinals[i] >= 0) {
+                    counts[ordinals[i]]++;
+                }
+            }
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                if (counts[i] > 0) {
+                    result.put(values[i], counts[i]);
+                }
+            }
+            return result;
+        }
+
+        // Numeric values sort numerically, everything else alphabetically
+        private static int compareValues(String a, String b) {
+            try {
+                return Long.compare(Long.parseLong(a), Long.parseLong(b));
+            } catch (NumberFormatException e) {
+                return a.compareTo(b);
+            }
+        }
+    }
+}
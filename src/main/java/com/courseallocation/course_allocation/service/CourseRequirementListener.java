@@ -0,0 +1,31 @@
+package com.courseallocation.course_allocation.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.courseallocation.course_allocation.model.CourseRequirement;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+// Drops the compiled eligibility rules and the prerequisite graph whenever a requirement row is written
+@Component
+@RequiredArgsConstructor
+public class CourseRequirementListener {
+
+    // Resolved lazily: entity listeners are created while the EntityManagerFactory is still being built
+    private final ObjectProvider<EligibilityRuleService> eligibilityRuleService;
+    private final ObjectProvider<PrerequisiteGraphService> prerequisiteGraphService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void requirementChanged(CourseRequirement requirement) {
+        if (requirement.getCourse() != null) {
+            eligibilityRuleService.getObject().invalidate(requirement.getCourse().getId());
+        }
+        prerequisiteGraphService.getObject().invalidate();
+    }
+}
@@ -0,0 +1,289 @@
+package com.courseallocation.course_allocation.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.courseallocation.course_allocation.dto.CourseResponse;
+
+/**
+ * In-memory inverted index over course code, title and description. Text is split into padded word trigrams
+ * (as pg_trgm does), so a query still matches when a few characters are mistyped. Hits are ranked by the
+ * share of query trigrams found in each field, weighted code > title > description.
+ * The index holds the listing rows themselves, so a search never reaches the database.
+ */
+@Service
+public class CourseSearchService {
+
+    private static final int CODE = 0;
+    private static final int TITLE = 1;
+    private static final int DESCRIPTION = 2;
+    private static final float[] FIELD_WEIGHTS = {3f, 2f, 1f};
+
+    // Below this share of matched query trigrams in every field a course is not a hit
+    private static final float MIN_SIMILARITY = 0.35f;
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private final int maxResults;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<Long, Integer> slotByCourse = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    private final Map<Long, IntList>[] postings = new Map[] {new HashMap<>(), new HashMap<>(), new HashMap<>()};
+    private int tombstones;
+
+    public CourseSearchService(@Value("${search.max-results:100}") int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public void rebuild(Collection<CourseResponse> courses) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (CourseResponse course : courses) {
+                add(course);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applied once the caller's transaction commits so a rolled-back write never shows up in search
+    public void index(CourseResponse course) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(course.getId());
+                add(course);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void indexAll(Collection<CourseResponse> courses) {
+        courses.forEach(this::index);
+    }
+
+    public void remove(Long courseId) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(courseId);
+                if (tombstones > COMPACT_THRESHOLD && tombstones > slotByCourse.size() / 4) {
+                    compact();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns the best matches first. The rows are the indexed copies; callers must not modify them.
+     */
+    public List<CourseResponse> search(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Scored> hits = normalized.replace(" ", "").length() < 3
+                    ? scanShortQuery(normalized)
+                    : scoreTrigrams(normalized);
+
+            hits.sort((a, b) -> a.score != b.score
+                    ? Float.compare(b.score, a.score)
+                    : Long.compare(a.document.course.getId(), b.document.course.getId()));
+
+            List<CourseResponse> results = new ArrayList<>(Math.min(hits.size(), maxResults));
+            for (int i = 0; i < hits.size() && i < maxResults; i++) {
+                results.add(hits.get(i).document.course);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Scored> scoreTrigrams(String normalized) {
+        Set<Long> queryGrams = trigrams(normalized);
+        int slots = documents.size();
+        short[][] matched = new short[3][slots];
+        IntList touched = new IntList();
+
+        for (int field = 0; field < 3; field++) {
+            for (Long gram : queryGrams) {
+                IntList list = postings[field].get(gram);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.values[i];
+                    if (matched[CODE][slot] == 0 && matched[TITLE][slot] == 0 && matched[DESCRIPTION][slot] == 0) {
+                        touched.add(slot);
+                    }
+                    matched[field][slot]++;
+                }
+            }
+        }
+
+        float total = queryGrams.size();
+        List<Scored> hits = new ArrayList<>();
+        for (int i = 0; i < touched.size; i++) {
+            int slot = touched.values[i];
+            Document document = documents.get(slot);
+            if (document == null) {
+                continue;
+            }
+            float best = 0f;
+            float score = 0f;
+            for (int field = 0; field < 3; field++) {
+                float similarity = matched[field][slot] / total;
+                best = Math.max(best, similarity);
+                score = Math.max(score, similarity * FIELD_WEIGHTS[field]);
+            }
+            if (best < MIN_SIMILARITY) {
+                continue;
+            }
+            hits.add(new Scored(document, score + exactBonus(document, normalized)));
+        }
+        return hits;
+    }
+
+    // One- and two-character queries carry too few trigrams to rank on, so match them as substrings instead
+    private List<Scored> scanShortQuery(String normalized) {
+        List<Scored> hits = new ArrayList<>();
+        for (Document document : documents) {
+            if (document == null) {
+                continue;
+            }
+            if (document.code.contains(normalized) || document.title.contains(normalized)) {
+                hits.add(new Scored(document, exactBonus(document, normalized)));
+            }
+        }
+        return hits;
+    }
+
+    private float exactBonus(Document document, String normalized) {
+        if (document.code.equals(normalized)) {
+            return 10f;
+        }
+        if (document.code.startsWith(normalized)) {
+            return 4f;
+        }
+        return document.title.contains(normalized) ? 2f : 0f;
+    }
+
+    private void add(CourseResponse course) {
+        Document document = new Document(course, normalize(course.getCourseCode()), normalize(course.getTitle()),
+                normalize(course.getDescription()));
+        int slot = documents.size();
+        documents.add(document);
+        slotByCourse.put(course.getId(), slot);
+        addPostings(CODE, document.code, slot);
+        addPostings(TITLE, document.title, slot);
+        addPostings(DESCRIPTION, document.description, slot);
+    }
+
+    private void addPostings(int field, String text, int slot) {
+        for (Long gram : trigrams(text)) {
+            postings[field].computeIfAbsent(gram, k -> new IntList()).add(slot);
+        }
+    }
+
+    private void delete(Long courseId) {
+        Integer slot = slotByCourse.remove(courseId);
+        if (slot != null) {
+            documents.set(slot, null);
+            tombstones++;
+        }
+    }
+
+    private void compact() {
+        List<CourseResponse> live = new ArrayList<>(slotByCourse.size());
+        for (Document document : documents) {
+            if (document != null) {
+                live.add(document.course);
+            }
+        }
+        clear();
+        live.forEach(this::add);
+    }
+
+    private void clear() {
+        documents.clear();
+        slotByCourse.clear();
+        for (Map<Long, IntList> fieldPostings : postings) {
+            fieldPostings.clear();
+        }
+        tombstones = 0;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        return length > 0 && normalized.charAt(length - 1) == ' ' ? normalized.substring(0, length - 1)
+                : normalized.toString();
+    }
+
+    // Each word is padded with two leading blanks and one trailing blank, and trigrams are packed into a long
+    private static Set<Long> trigrams(String normalized) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private record Document(CourseResponse course, String code, String title, String description) {
+    }
+
+    private record Scored(Document document, float score) {
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
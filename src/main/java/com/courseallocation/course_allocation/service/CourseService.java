@@ -1,24 +1,38 @@
 package com.courseallocation.course_allocation.service;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.courseallocation.course_allocation.dto.CourseFilterRequest;
+import com.courseallocation.course_allocation.dto.CourseFilterResponse;
 import com.courseallocation.course_allocation.dto.CourseRequest;
+import com.courseallocation.course_allocation.dto.CourseRequirementRequest;
 import com.courseallocation.course_allocation.dto.CourseRequirementResponse;
 import com.courseallocation.course_allocation.dto.CourseResponse;
+import com.courseallocation.course_allocation.dto.PageResponse;
 import com.courseallocation.course_allocation.model.Course;
 import com.courseallocation.course_allocation.model.CourseRequirement;
 import com.courseallocation.course_allocation.model.Department;
 import com.courseallocation.course_allocation.model.Semester;
 import com.courseallocation.course_allocation.model.User;
+import com.courseallocation.course_allocation.model.enums.AuditAction;
 import com.courseallocation.course_allocation.model.enums.CourseStatus;
+import com.courseallocation.course_allocation.model.enums.RequirementType;
 import com.courseallocation.course_allocation.repository.CourseRepository;
 import com.courseallocation.course_allocation.repository.CourseRequirementRepository;
 import com.courseallocation.course_allocation.repository.DepartmentRepository;
-import com.courseallocation.course_allocation.repository.EnrollmentRepository;
 import com.courseallocation.course_allocation.repository.SemesterRepository;
 import com.courseallocation.course_allocation.repository.UserRepository;
 
@@ -33,8 +47,24 @@ public class CourseService {
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository;
     private final SemesterRepository semesterRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final SeatLedgerService seatLedgerService;
+    private final WaitlistService waitlistService;
+    private final EligibilityRuleService eligibilityRuleService;
+    private final PrerequisiteGraphService prerequisiteGraphService;
+    private final PaginationService paginationService;
+    private final CourseSearchService courseSearchService;
+    private final CourseAutocompleteService courseAutocompleteService;
+    private final CatalogSnapshotService catalogSnapshotService;
     private final CourseRequirementRepository courseRequirementRepository;
+    private final AuditService auditService;
+
+    @Order(2)
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexCourses() {
+        List<CourseResponse> courses = getAllCourses();
+        courseSearchService.rebuild(courses);
+        courseAutocompleteService.rebuild(courses);
+    }
 
     public CourseResponse createCourse(CourseRequest request) {
         if (courseRepository.existsByCourseCode(request.getCourseCode())) {
@@ -70,43 +100,81 @@ public class CourseService {
         }
 
         Course saved = courseRepository.save(course);
+        seatLedgerService.register(saved);
+        prerequisiteGraphService.invalidate();
+        courseSearchService.index(mapToResponse(saved));
+        courseAutocompleteService.index(mapToResponse(saved));
+        catalogSnapshotService.refreshAfterCommit();
         return mapToResponse(saved);
     }
 
+    // Catalog reads are served from the in-memory snapshot and do not open a transaction
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CourseResponse getCourseById(Long id) {
-        Course course = courseRepository.findById(id)
+        return catalogSnapshotService.current().getCourse(id)
+                .map(this::withLiveSeats)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
-        return mapToResponse(course);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CourseResponse getCourseByCourseCode(String courseCode) {
-        Course course = courseRepository.findByCourseCode(courseCode)
+        return catalogSnapshotService.current().getCourseByCode(courseCode)
+                .map(this::withLiveSeats)
                 .orElseThrow(() -> new RuntimeException("Course not found with code: " + courseCode));
-        return mapToResponse(course);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CourseResponse> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return withLiveSeats(catalogSnapshotService.current().getCourses());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CourseFilterResponse filterCourses(CourseFilterRequest filter, String cursor, Integer size) {
+        int pageSize = paginationService.pageSize(size);
+        CatalogSnapshot catalog = catalogSnapshotService.current();
+        CourseFacets.Result result = catalog.getCourseFacets()
+                .filter(filter, seatLedgerService.getAvailableSeats(catalog.getCourseIds()));
+
+        BitSet matches = result.matches();
+        List<CourseResponse> courses = new ArrayList<>(pageSize + 1);
+        int from = catalog.getCoursePositionAfter(paginationService.afterId(cursor));
+        for (int i = matches.nextSetBit(from); i >= 0 && courses.size() <= pageSize; i = matches.nextSetBit(i + 1)) {
+            courses.add(catalog.getCourses().get(i));
+        }
+
+        PageResponse<CourseResponse> page = paginationService.toPageMappedAsList(courses, pageSize,
+                CourseResponse::getId, this::withLiveSeats);
+        return new CourseFilterResponse(page.getItems(), page.getSize(), page.isHasMore(), page.getNextCursor(),
+                matches.cardinality(), result.facets());
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CourseResponse> getCoursesByDepartmentId(Long departmentId) {
-        return courseRepository.findByDepartmentId(departmentId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return withLiveSeats(catalogSnapshotService.current().getCoursesByDepartment(departmentId));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CourseResponse> getCoursesBySemesterId(Long semesterId) {
-        return courseRepository.findBySemesterId(semesterId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return withLiveSeats(catalogSnapshotService.current().getCoursesBySemester(semesterId));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CourseResponse> getCoursesByTitleContaining(String title) {
-        return courseRepository.findByTitleContainingIgnoreCase(title).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        String needle = title.toLowerCase();
+        return withLiveSeats(catalogSnapshotService.current().getCourses().stream()
+                .filter(course -> course.getTitle() != null && course.getTitle().toLowerCase().contains(needle))
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<CourseResponse> getCoursesByIds(Collection<Long> ids) {
+        CatalogSnapshot catalog = catalogSnapshotService.current();
+        List<CourseResponse> courses = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            catalog.getCourse(id).ifPresent(courses::add);
+        }
+        courses.sort(Comparator.comparing(CourseResponse::getId));
+        return withLiveSeats(courses);
     }
 
     public CourseResponse updateCourse(Long id, CourseRequest request) {
@@ -123,6 +191,10 @@ public class CourseService {
         course.setDescription(request.getDescription());
         course.setLevel(request.getLevel());
         course.setCredits(request.getCredits());
+        if (!course.getMaxCapacity().equals(request.getMaxCapacity())) {
+            auditService.record(AuditAction.CAPACITY_CHANGE, "Course", id,
+                    Map.of("previousCapacity", course.getMaxCapacity(), "newCapacity", request.getMaxCapacity()));
+        }
         course.setMaxCapacity(request.getMaxCapacity());
         course.setAcademicYear(request.getAcademicYear());
 
@@ -145,6 +217,12 @@ public class CourseService {
         }
 
         Course updated = courseRepository.save(course);
+        seatLedgerService.updateCapacity(id, updated.getMaxCapacity());
+        waitlistService.seatsFreed(id);
+        eligibilityRuleService.invalidateAll();
+        courseSearchService.index(mapToResponse(updated));
+        courseAutocompleteService.index(mapToResponse(updated));
+        catalogSnapshotService.refreshAfterCommit();
         return mapToResponse(updated);
     }
 
@@ -153,60 +231,119 @@ public class CourseService {
             throw new RuntimeException("Course not found with id: " + id);
         }
         courseRepository.deleteById(id);
+        seatLedgerService.evict(id);
+        eligibilityRuleService.invalidateAll();
+        prerequisiteGraphService.invalidate();
+        courseSearchService.remove(id);
+        courseAutocompleteService.remove(id);
+        catalogSnapshotService.refreshAfterCommit();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CourseResponse> searchCourses(String query) {
-        // Search by title or course code
-        List<Course> courses = courseRepository.findByTitleContainingIgnoreCase(query);
-        
-        // Also search by course code if the query doesn't contain spaces
-        if (!query.contains(" ")) {
-            courseRepository.findByCourseCode(query.toUpperCase()).ifPresent(courses::add);
-        }
-        
-        return courses.stream()
-                .distinct()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return withLiveSeats(courseSearchService.search(query));
+    }
+
+    // Department and semester names are denormalised into the search index; read them back from this
+    // transaction, since the catalog snapshot only catches up once it commits
+    public void reindexDepartmentCourses(Long departmentId) {
+        courseRepository.findByDepartmentId(departmentId)
+                .forEach(course -> courseSearchService.index(mapToResponse(course)));
+    }
+
+    public void reindexSemesterCourses(Long semesterId) {
+        courseRepository.findBySemesterId(semesterId)
+                .forEach(course -> courseSearchService.index(mapToResponse(course)));
     }
 
+    // Requirement rows are cached per course together with the compiled eligibility rules
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CourseRequirementResponse> getCourseRequirements(Long courseId) {
-        // Verify course exists
-        courseRepository.findById(courseId)
+        if (catalogSnapshotService.current().getCourse(courseId).isEmpty()) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        return eligibilityRuleService.getRules(courseId).getRequirements();
+    }
+
+    public CourseRequirementResponse addCourseRequirement(Long courseId, CourseRequirementRequest request) {
+        Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
 
-        List<CourseRequirement> requirements = courseRequirementRepository.findByCourseId(courseId);
-        
-        return requirements.stream()
-                .map(req -> {
-                    CourseRequirementResponse response = new CourseRequirementResponse();
-                    response.setId(req.getId());
-                    response.setCourseId(req.getCourse().getId());
-                    response.setCourseCode(req.getCourse().getCourseCode());
-                    
-                    if (req.getPrerequisiteCourse() != null) {
-                        response.setPrerequisiteCourseId(req.getPrerequisiteCourse().getId());
-                        response.setPrerequisiteCourseCode(req.getPrerequisiteCourse().getCourseCode());
-                        response.setPrerequisiteCourseTitle(req.getPrerequisiteCourse().getTitle());
-                    }
-                    
-                    response.setMinGrade(req.getMinGrade());
-                    response.setMinCreditsCompleted(req.getMinCreditsCompleted());
-                    response.setRequiredYear(req.getRequiredYear());
-                    response.setRequiredProgram(req.getRequiredProgram());
-                    response.setMinGPA(req.getMinGPA());
-                    response.setRequirementType(req.getRequirementType().name());
-                    response.setIsMandatory(req.getIsMandatory());
-                    response.setDescription(req.getDescription());
-                    
-                    return response;
-                })
-                .collect(Collectors.toList());
+        CourseRequirement requirement = new CourseRequirement();
+        requirement.setCourse(course);
+        requirement.setRequirementType(RequirementType.valueOf(request.getRequirementType()));
+
+        if (request.getPrerequisiteCourseId() != null) {
+            Course prerequisite = courseRepository.findById(request.getPrerequisiteCourseId())
+                    .orElseThrow(() -> new RuntimeException("Prerequisite course not found"));
+            if (requirement.getRequirementType() != RequirementType.COREQUISITE) {
+                prerequisiteGraphService.checkNewPrerequisite(courseId, prerequisite.getId());
+            }
+            requirement.setPrerequisiteCourse(prerequisite);
+        }
+
+        requirement.setMinGrade(request.getMinGrade());
+        requirement.setMinCreditsCompleted(request.getMinCreditsCompleted());
+        requirement.setRequiredYear(request.getRequiredYear());
+        requirement.setRequiredProgram(request.getRequiredProgram());
+        requirement.setMinGPA(request.getMinGPA());
+        requirement.setIsMandatory(request.getIsMandatory() != null ? request.getIsMandatory() : true);
+        requirement.setDescription(request.getDescription());
+
+        return EligibilityRuleService.toResponse(courseRequirementRepository.save(requirement));
+    }
+
+    public void deleteCourseRequirement(Long courseId, Long requirementId) {
+        CourseRequirement requirement = courseRequirementRepository.findById(requirementId)
+                .filter(req -> req.getCourse().getId().equals(courseId))
+                .orElseThrow(() -> new RuntimeException("Requirement not found with id: " + requirementId));
+        courseRequirementRepository.delete(requirement);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseResponse> getAllPrerequisites(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        return getCoursesByIds(prerequisiteGraphService.getAllPrerequisiteIds(courseId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseResponse> getUnlockedCourses(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        return getCoursesByIds(prerequisiteGraphService.getUnlockedCourseIds(courseId));
+    }
+
+    // Snapshot and index rows are shared, so hand out copies carrying the live seat counts
+    List<CourseResponse> withLiveSeats(List<CourseResponse> courses) {
+        long[] ids = courses.stream().mapToLong(CourseResponse::getId).toArray();
+        int[] capacities = seatLedgerService.getCapacities(ids);
+        int[] enrolled = seatLedgerService.getEnrolledCounts(ids);
+
+        List<CourseResponse> responses = new ArrayList<>(courses.size());
+        for (int i = 0; i < ids.length; i++) {
+            responses.add(withSeats(courses.get(i), capacities[i], enrolled[i]));
+        }
+        return responses;
+    }
+
+    private CourseResponse withLiveSeats(CourseResponse course) {
+        return withLiveSeats(List.of(course)).get(0);
+    }
+
+    private CourseResponse withSeats(CourseResponse course, int capacity, int enrolled) {
+        return new CourseResponse(course.getId(), course.getCourseCode(), course.getTitle(), course.getDescription(),
+                course.getLevel(), course.getCredits(), capacity, enrolled, course.getDepartmentCode(),
+                course.getDepartmentName(), course.getAssignedLecturerId(), course.getLecturerName(),
+                course.getSemesterId(), course.getSemesterCode(), course.getAcademicYear(), course.getStatus(),
+                course.getCreatedAt(), course.getUpdatedAt());
     }
 
     private CourseResponse mapToResponse(Course course) {
-        long currentEnrollment = enrollmentRepository.countByCourseId(course.getId());
-        
+        int currentEnrollment = seatLedgerService.getEnrolledCount(course.getId());
+
         return new CourseResponse(
                 course.getId(),
                 course.getCourseCode(),
@@ -215,7 +352,7 @@ public class CourseService {
                 course.getLevel(),
                 course.getCredits(),
                 course.getMaxCapacity(),
-                (int) currentEnrollment,
+                currentEnrollment,
                 course.getDepartment() != null ? course.getDepartment().getCode() : null,
                 course.getDepartment() != null ? course.getDepartment().getName() : null,
                 course.getAssignedLecturer() != null ? course.getAssignedLecturer().getId() : null,
@@ -0,0 +1,207 @@
+package com.courseallocation.course_allocation.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.courseallocation.course_allocation.dto.CredentialStatsResponse;
+import com.courseallocation.course_allocation.dto.HashTimingResponse;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * BCrypt hashing of student PINs on a dedicated, bounded pool so a login burst queues here instead of pinning
+ * request threads. Once the queue is full, or a caller has waited past the timeout, the work is refused with a
+ * {@link RejectedExecutionException} so the client can back off instead of piling up behind the queue.
+ * PINs stored before hashing was introduced are still accepted and are rehashed by the caller on the next
+ * successful login, as are hashes made with a lower work factor than the configured one.
+ */
+@Service
+public class CredentialService {
+
+    private static final String BUSY_MESSAGE = "Too many login attempts in progress, please retry shortly";
+    private static final long[] BUCKET_BOUNDS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+
+    private final BCryptPasswordEncoder encoder;
+    private final int workFactor;
+    private final int threads;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+    private final Timings hashTimings = new Timings();
+    private final Timings verifyTimings = new Timings();
+    private final Timings queueWaitTimings = new Timings();
+
+    public CredentialService(@Value("${credentials.work-factor:10}") int workFactor,
+            @Value("${credentials.threads:0}") int threads,
+            @Value("${credentials.queue-capacity:200}") int queueCapacity,
+            @Value("${credentials.timeout-ms:5000}") long timeoutMillis) {
+        this.encoder = new BCryptPasswordEncoder(workFactor);
+        this.workFactor = workFactor;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "credential-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String hash(String pin) {
+        return run(() -> encoder.encode(pin), hashTimings);
+    }
+
+    public boolean matches(String pin, String stored) {
+        if (pin == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(pin.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        return run(() -> encoder.matches(pin, stored), verifyTimings);
+    }
+
+    /**
+     * Returns a fresh hash of a PIN that has just been verified against {@code stored} when the stored value is
+     * plain text or was hashed with a lower work factor, and null when it is already current.
+     */
+    public String rehashIfNeeded(String pin, String stored) {
+        if (isHashed(stored) && !encoder.upgradeEncoding(stored)) {
+            return null;
+        }
+        String upgraded = hash(pin);
+        rehashed.increment();
+        return upgraded;
+    }
+
+    public CredentialStatsResponse getStats() {
+        return new CredentialStatsResponse(workFactor, threads, executor.getQueue().size(), queueCapacity,
+                rejected.sum(), rehashed.sum(), hashTimings.toResponse(), verifyTimings.toResponse(),
+                queueWaitTimings.toResponse());
+    }
+
+    private <T> T run(Callable<T> work, Timings timings) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimings.record(startedAt - submittedAt);
+                try {
+                    return work.call();
+                } finally {
+                    timings.record(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RejectedExecutionException(BUSY_MESSAGE);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while checking credentials");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Failed to check credentials", e.getCause());
+        }
+    }
+
+    // Plain-text PINs are short digit strings and can never look like a 60-character modular crypt hash
+    private static boolean isHashed(String stored) {
+        return stored.length() == 60 && stored.startsWith("$2");
+    }
+
+    // Fixed-bucket latency histogram; percentiles resolve to the upper bound of the bucket they fall in
+    private static final class Timings {
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Timings() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MILLIS.length && millis > BUCKET_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private HashTimingResponse toResponse() {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            Map<String, Long> byBound = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+                byBound.put(i < BUCKET_BOUNDS_MILLIS.length ? String.valueOf(BUCKET_BOUNDS_MILLIS[i]) : "+Inf",
+                        counts[i]);
+            }
+            long maxMillis = TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+            double meanMillis = total > 0 ? totalNanos.sum() / 1_000_000.0 / count.sum() : 0.0;
+            return new HashTimingResponse(total, meanMillis, maxMillis, percentile(counts, total, 0.50, maxMillis),
+                    percentile(counts, total, 0.99, maxMillis), byBound);
+        }
+
+        private static long percentile(long[] counts, long total, double quantile, long maxMillis) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i < BUCKET_BOUNDS_MILLIS.length ? Math.min(BUCKET_BOUNDS_MILLIS[i], maxMillis) : maxMillis;
+                }
+            }
+            return maxMillis;
+        }
+    }
+}
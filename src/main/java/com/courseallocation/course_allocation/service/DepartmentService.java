@@ -2,9 +2,9 @@ package com.courseallocation.course_allocation.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.courseallocation.course_allocation.dto.CourseResponse;
@@ -12,6 +12,7 @@ import com.courseallocation.course_allocation.dto.DepartmentRequest;
 import com.courseallocation.course_allocation.dto.DepartmentResponse;
 import com.courseallocation.course_allocation.model.Department;
 import com.courseallocation.course_allocation.model.User;
+import com.courseallocation.course_allocation.model.enums.UserRole;
 import com.courseallocation.course_allocation.repository.CourseRepository;
 import com.courseallocation.course_allocation.repository.DepartmentRepository;
 import com.courseallocation.course_allocation.repository.UserRepository;
@@ -25,6 +26,11 @@ public class DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
+    private final CourseService courseService;
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    // Users counted as a department's lecturers
+    static final List<UserRole> TEACHING_ROLES = List.of(UserRole.LECTURER, UserRole.HOD);
 
     @Transactional
     public DepartmentResponse createDepartment(DepartmentRequest request) {
@@ -46,28 +52,25 @@ public class DepartmentService {
         }
 
         Department savedDepartment = departmentRepository.save(department);
+        catalogSnapshotService.refreshAfterCommit();
         return mapToResponse(savedDepartment);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public DepartmentResponse getDepartmentById(Long id) {
-        Department department = departmentRepository.findById(id)
+        return catalogSnapshotService.current().getDepartment(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
-        return mapToResponse(department);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public DepartmentResponse getDepartmentByCode(String code) {
-        Department department = departmentRepository.findByCode(code)
+        return catalogSnapshotService.current().getDepartmentByCode(code)
                 .orElseThrow(() -> new RuntimeException("Department not found with code: " + code));
-        return mapToResponse(department);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<DepartmentResponse> getAllDepartments() {
-        return departmentRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return catalogSnapshotService.current().getDepartments();
     }
 
     @Transactional
@@ -95,6 +98,8 @@ public class DepartmentService {
         }
 
         Department updatedDepartment = departmentRepository.save(department);
+        courseService.reindexDepartmentCourses(id);
+        catalogSnapshotService.refreshAfterCommit();
         return mapToResponse(updatedDepartment);
     }
 
@@ -104,56 +109,21 @@ public class DepartmentService {
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
 
         // Check if department has courses
-        long courseCount = courseRepository.findByDepartmentId(id).size();
+        long courseCount = courseRepository.countByDepartmentId(id);
         if (courseCount > 0) {
             throw new RuntimeException("Cannot delete department with existing courses. Remove courses first.");
         }
 
         departmentRepository.delete(department);
+        catalogSnapshotService.refreshAfterCommit();
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CourseResponse> getDepartmentCourses(Long id) {
-        Department department = departmentRepository.findById(id)
+        DepartmentResponse department = catalogSnapshotService.current().getDepartment(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
 
-        return courseRepository.findByDepartmentId(id).stream()
-                .map(course -> {
-                    CourseResponse response = new CourseResponse();
-                    response.setId(course.getId());
-                    response.setCourseCode(course.getCourseCode());
-                    response.setTitle(course.getTitle());
-                    response.setDescription(course.getDescription());
-                    response.setCredits(course.getCredits());
-                    response.setLevel(course.getLevel());
-                    response.setMaxCapacity(course.getMaxCapacity());
-                    response.setDepartmentCode(course.getDepartment().getCode());
-                    response.setDepartmentName(course.getDepartment().getName());
-                    
-                    // Count current enrollment
-                    long enrollment = courseRepository.findById(course.getId())
-                            .map(c -> (int) c.getEnrollments().size())
-                            .orElse(0);
-                    response.setCurrentEnrollment((int) enrollment);
-                    
-                    if (course.getSemester() != null) {
-                        response.setSemesterId(course.getSemester().getId());
-                        response.setSemesterCode(course.getSemester().getSemesterCode());
-                    }
-                    
-                    response.setAcademicYear(course.getAcademicYear());
-                    
-                    if (course.getAssignedLecturer() != null) {
-                        response.setAssignedLecturerId(course.getAssignedLecturer().getId());
-                        response.setLecturerName(course.getAssignedLecturer().getFirstName() + " " + 
-                                                 course.getAssignedLecturer().getLastName());
-                    }
-                    
-                    response.setStatus(course.getStatus() != null ? course.getStatus().name() : null);
-                    response.setCreatedAt(course.getCreatedAt());
-                    return response;
-                })
-                .collect(Collectors.toList());
+        return courseService.getCoursesByDepartmentId(department.getId());
     }
 
     private DepartmentResponse mapToResponse(Department department) {
@@ -169,8 +139,8 @@ public class DepartmentService {
         }
 
         // Count courses and lecturers
-        response.setTotalCourses((int) courseRepository.findByDepartmentId(department.getId()).size());
-        response.setTotalLecturers((int) userRepository.findByDepartmentId(department.getId()).size());
+        response.setTotalCourses((int) courseRepository.countByDepartmentId(department.getId()));
+        response.setTotalLecturers((int) userRepository.countByDepartmentIdAndRoleIn(department.getId(), TEACHING_ROLES));
 
         return response;
     }
@@ -0,0 +1,399 @@
+package com.courseallocation.course_allocation.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.courseallocation.course_allocation.config.StudentPrincipal;
+import com.courseallocation.course_allocation.dto.CourseRequirementResponse;
+import com.courseallocation.course_allocation.model.Course;
+import com.courseallocation.course_allocation.model.CourseRequirement;
+import com.courseallocation.course_allocation.model.Student;
+import com.courseallocation.course_allocation.model.enums.EnrollmentStatus;
+import com.courseallocation.course_allocation.model.enums.RequirementType;
+import com.courseallocation.course_allocation.repository.CourseRequirementRepository;
+import com.courseallocation.course_allocation.repository.EnrollmentRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Compiles the requirement rows of a course once into an immutable rule set and evaluates it against a
+ * pre-fetched {@link StudentSnapshot}, so an eligibility check never goes back to the database. The rule set
+ * also keeps the requirement rows as listed to clients, so they are cached under the same course id.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EligibilityRuleService {
+
+    // Ordered from highest to lowest; a grade satisfies a minimum when its rank is not greater
+    private static final List<String> GRADE_SCALE = List.of(
+            "A+", "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "D-", "E", "F");
+    private static final int UNGRADED = Integer.MAX_VALUE;
+
+    private final CourseRequirementRepository courseRequirementRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    private final Map<Long, CourseRules> rules = new ConcurrentHashMap<>();
+
+    public CourseRules getRules(Long courseId) {
+        CourseRules cached = rules.get(courseId);
+        if (cached != null) {
+            return cached;
+        }
+        CourseRules compiled = compile(courseRequirementRepository.findByCourseIdWithPrerequisite(courseId));
+        CourseRules existing = rules.putIfAbsent(courseId, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    // Rules aligned with the given ids; every course missing from the cache is compiled from a single query
+    public CourseRules[] getRules(List<Long> courseIds) {
+        CourseRules[] result = new CourseRules[courseIds.size()];
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = rules.get(courseIds.get(i));
+            if (result[i] == null) {
+                missing.add(courseIds.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, List<CourseRequirement>> byCourse = new HashMap<>();
+        for (CourseRequirement req : courseRequirementRepository.findByCourseIdInWithPrerequisite(missing)) {
+            byCourse.computeIfAbsent(req.getCourse().getId(), k -> new ArrayList<>()).add(req);
+        }
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] == null) {
+                Long courseId = courseIds.get(i);
+                CourseRules compiled = compile(byCourse.getOrDefault(courseId, List.of()));
+                CourseRules existing = rules.putIfAbsent(courseId, compiled);
+                result[i] = existing != null ? existing : compiled;
+            }
+        }
+        return result;
+    }
+
+    public StudentSnapshot snapshot(Student student) {
+        return snapshot(student.getId(), student.getProgram(), student.getYearOfStudy(),
+                student.getCreditsCompleted(), student.getCurrentGPA());
+    }
+
+    // Standing as carried in the caller's token; only the enrollment history is queried
+    public StudentSnapshot snapshot(StudentPrincipal principal) {
+        return snapshot(principal.studentId(), principal.program(), principal.yearOfStudy(),
+                principal.creditsCompleted(), principal.gpa());
+    }
+
+    private StudentSnapshot snapshot(Long studentId, String program, Integer yearOfStudy, Integer creditsCompleted,
+            Double gpa) {
+        List<Object[]> rows = enrollmentRepository.findHistoryByStudentId(studentId);
+        long[] courseIds = new long[rows.size()];
+        EnrollmentStatus[] statuses = new EnrollmentStatus[rows.size()];
+        int[] grades = new int[rows.size()];
+
+        rows.sort((a, b) -> Long.compare((Long) a[0], (Long) b[0]));
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            courseIds[i] = (Long) row[0];
+            statuses[i] = (EnrollmentStatus) row[1];
+            grades[i] = gradeRank((String) row[2]);
+        }
+
+        return new StudentSnapshot(
+                studentId,
+                normalizeProgram(program),
+                program,
+                yearOfStudy != null ? yearOfStudy : 0,
+                creditsCompleted != null ? creditsCompleted : 0,
+                gpa != null ? gpa : 0.0,
+                courseIds,
+                statuses,
+                grades);
+    }
+
+    public void invalidate(Long courseId) {
+        rules.remove(courseId);
+        TransactionCallbacks.afterCommit(() -> rules.remove(courseId));
+    }
+
+    // Compiled rules embed prerequisite course codes and titles, so course edits drop the whole cache
+    public void invalidateAll() {
+        rules.clear();
+        TransactionCallbacks.afterCommit(rules::clear);
+    }
+
+    private CourseRules compile(List<CourseRequirement> requirements) {
+        List<Rule> mandatory = new ArrayList<>();
+        List<Rule> advisory = new ArrayList<>();
+        List<CourseRequirementResponse> responses = new ArrayList<>(requirements.size());
+
+        for (CourseRequirement req : requirements) {
+            responses.add(toResponse(req));
+            List<Rule> target = Boolean.FALSE.equals(req.getIsMandatory()) ? advisory : mandatory;
+            Course prerequisite = req.getPrerequisiteCourse();
+            if (prerequisite != null) {
+                String label = prerequisite.getCourseCode() + " - " + prerequisite.getTitle();
+                if (req.getRequirementType() == RequirementType.COREQUISITE) {
+                    target.add(new CorequisiteRule(prerequisite.getId(), label));
+                } else {
+                    target.add(new PrerequisiteRule(prerequisite.getId(), label,
+                            gradeRank(req.getMinGrade()), req.getMinGrade()));
+                }
+            }
+            if (req.getMinCreditsCompleted() != null) {
+                target.add(new CreditRule(req.getMinCreditsCompleted()));
+            }
+            if (req.getRequiredYear() != null) {
+                target.add(new YearRule(req.getRequiredYear()));
+            }
+            if (req.getRequiredProgram() != null && !req.getRequiredProgram().isBlank()) {
+                target.add(new ProgramRule(normalizeProgram(req.getRequiredProgram()), req.getRequiredProgram()));
+            }
+            if (req.getMinGPA() != null) {
+                target.add(new GpaRule(req.getMinGPA()));
+            }
+        }
+
+        return new CourseRules(!requirements.isEmpty(), mandatory.toArray(Rule[]::new), advisory.toArray(Rule[]::new),
+                List.copyOf(responses));
+    }
+
+    static CourseRequirementResponse toResponse(CourseRequirement req) {
+        CourseRequirementResponse response = new CourseRequirementResponse();
+        response.setId(req.getId());
+        response.setCourseId(req.getCourse().getId());
+        response.setCourseCode(req.getCourse().getCourseCode());
+
+        if (req.getPrerequisiteCourse() != null) {
+            response.setPrerequisiteCourseId(req.getPrerequisiteCourse().getId());
+            response.setPrerequisiteCourseCode(req.getPrerequisiteCourse().getCourseCode());
+            response.setPrerequisiteCourseTitle(req.getPrerequisiteCourse().getTitle());
+        }
+
+        response.setMinGrade(req.getMinGrade());
+        response.setMinCreditsCompleted(req.getMinCreditsCompleted());
+        response.setRequiredYear(req.getRequiredYear());
+        response.setRequiredProgram(req.getRequiredProgram());
+        response.setMinGPA(req.getMinGPA());
+        response.setRequirementType(req.getRequirementType().name());
+        response.setIsMandatory(req.getIsMandatory());
+        response.setDescription(req.getDescription());
+
+        return response;
+    }
+
+    private static int gradeRank(String grade) {
+        if (grade == null) {
+            return UNGRADED;
+        }
+        int rank = GRADE_SCALE.indexOf(grade.trim().toUpperCase(Locale.ROOT));
+        return rank >= 0 ? rank : UNGRADED;
+    }
+
+    private static String normalizeProgram(String program) {
+        return program != null ? program.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * The parts of a student's record that requirements look at. Enrollment rows are held sorted by course id
+     * so lookups are a binary search over primitives.
+     */
+    public static final class StudentSnapshot {
+        private final Long studentId;
+        private final String program;
+        private final String displayProgram;
+        private final int yearOfStudy;
+        private final int creditsCompleted;
+        private final double gpa;
+        private final long[] courseIds;
+        private final EnrollmentStatus[] statuses;
+        private final int[] grades;
+
+        private StudentSnapshot(Long studentId, String program, String displayProgram, int yearOfStudy,
+                int creditsCompleted, double gpa, long[] courseIds, EnrollmentStatus[] statuses, int[] grades) {
+            this.studentId = studentId;
+            this.program = program;
+            this.displayProgram = displayProgram;
+            this.yearOfStudy = yearOfStudy;
+            this.creditsCompleted = creditsCompleted;
+            this.gpa = gpa;
+            this.courseIds = courseIds;
+            this.statuses = statuses;
+            this.grades = grades;
+        }
+
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        public boolean hasEnrollment(long courseId) {
+            return Arrays.binarySearch(courseIds, courseId) >= 0;
+        }
+
+        private boolean hasStatus(long courseId, EnrollmentStatus status) {
+            int i = Arrays.binarySearch(courseIds, courseId);
+            return i >= 0 && statuses[i] == status;
+        }
+
+        private int gradeFor(long courseId) {
+            return grades[Arrays.binarySearch(courseIds, courseId)];
+        }
+    }
+
+    /**
+     * Immutable compiled form of a course's requirements. Evaluation returns a bit mask of the failed
+     * mandatory {@link RequirementType}s and appends a message per unmet rule when a list is given.
+     */
+    public static final class CourseRules {
+        private final boolean hasRequirements;
+        private final Rule[] mandatory;
+        private final Rule[] advisory;
+        private final List<CourseRequirementResponse> requirements;
+
+        private CourseRules(boolean hasRequirements, Rule[] mandatory, Rule[] advisory,
+                List<CourseRequirementResponse> requirements) {
+            this.hasRequirements = hasRequirements;
+            this.mandatory = mandatory;
+            this.advisory = advisory;
+            this.requirements = requirements;
+        }
+
+        public boolean hasRequirements() {
+            return hasRequirements;
+        }
+
+        // Shared cached rows; callers must not modify them
+        public List<CourseRequirementResponse> getRequirements() {
+            return requirements;
+        }
+
+        public int evaluate(StudentSnapshot student, List<String> unmetRequirements) {
+            int failed = 0;
+            for (Rule rule : mandatory) {
+                if (!rule.test(student)) {
+                    failed |= 1 << rule.type().ordinal();
+                    if (unmetRequirements != null) {
+                        unmetRequirements.add(rule.describe(student));
+                    }
+                }
+            }
+            if (unmetRequirements != null) {
+                for (Rule rule : advisory) {
+                    if (!rule.test(student)) {
+                        unmetRequirements.add("Recommended: " + rule.describe(student));
+                    }
+                }
+            }
+            return failed;
+        }
+
+        public static boolean failed(int mask, RequirementType type) {
+            return (mask & (1 << type.ordinal())) != 0;
+        }
+    }
+
+    private interface Rule {
+        RequirementType type();
+
+        boolean test(StudentSnapshot student);
+
+        String describe(StudentSnapshot student);
+    }
+
+    private record PrerequisiteRule(long courseId, String label, int minGradeRank, String minGrade) implements Rule {
+        public RequirementType type() {
+            return RequirementType.PREREQUISITE;
+        }
+
+        public boolean test(StudentSnapshot student) {
+            if (!student.hasStatus(courseId, EnrollmentStatus.COMPLETED)) {
+                return false;
+            }
+            return minGradeRank == UNGRADED || student.gradeFor(courseId) <= minGradeRank;
+        }
+
+        public String describe(StudentSnapshot student) {
+            return "Prerequisite required: " + label + (minGradeRank == UNGRADED ? "" : " (minimum grade " + minGrade + ")");
+        }
+    }
+
+    private record CorequisiteRule(long courseId, String label) implements Rule {
+        public RequirementType type() {
+            return RequirementType.COREQUISITE;
+        }
+
+        public boolean test(StudentSnapshot student) {
+            return student.hasStatus(courseId, EnrollmentStatus.COMPLETED)
+                    || student.hasStatus(courseId, EnrollmentStatus.ENROLLED);
+        }
+
+        public String describe(StudentSnapshot student) {
+            return "Corequisite required: " + label + " (must be completed or taken in the same semester)";
+        }
+    }
+
+    private record CreditRule(int minCredits) implements Rule {
+        public RequirementType type() {
+            return RequirementType.CREDIT;
+        }
+
+        public boolean test(StudentSnapshot student) {
+            return student.creditsCompleted >= minCredits;
+        }
+
+        public String describe(StudentSnapshot student) {
+            return "Minimum credits required: " + minCredits + " (Current: " + student.creditsCompleted + ")";
+        }
+    }
+
+    private record YearRule(int minYear) implements Rule {
+        public RequirementType type() {
+            return RequirementType.YEAR;
+        }
+
+        public boolean test(StudentSnapshot student) {
+            return student.yearOfStudy >= minYear;
+        }
+
+        public String describe(StudentSnapshot student) {
+            return "Minimum year required: " + minYear + " (Current: " + student.yearOfStudy + ")";
+        }
+    }
+
+    private record ProgramRule(String program, String displayProgram) implements Rule {
+        public RequirementType type() {
+            return RequirementType.PROGRAM;
+        }
+
+        public boolean test(StudentSnapshot student) {
+            return program.equals(student.program);
+        }
+
+        public String describe(StudentSnapshot student) {
+            return "Program required: " + displayProgram + " (Current: " + student.displayProgram + ")";
+        }
+    }
+
+    private record GpaRule(double minGpa) implements Rule {
+        public RequirementType type() {
+            return RequirementType.GPA;
+        }
+
+        public boolean test(StudentSnapshot student) {
+            return student.gpa >= minGpa;
+        }
+
+        public String describe(StudentSnapshot student) {
+            return "Minimum GPA required: " + minGpa + " (Current: " + student.gpa + ")";
+        }
+    }
+}
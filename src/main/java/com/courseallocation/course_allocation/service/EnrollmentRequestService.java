@@ -1,19 +1,28 @@
 package com.courseallocation.course_allocation.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.courseallocation.course_allocation.dto.EnrollmentRequestDto;
 import com.courseallocation.course_allocation.dto.EnrollmentRequestResponse;
 import com.courseallocation.course_allocation.dto.EnrollmentRequestStatusUpdate;
+import com.courseallocation.course_allocation.dto.PageResponse;
 import com.courseallocation.course_allocation.model.Course;
 import com.courseallocation.course_allocation.model.Enrollment;
 import com.courseallocation.course_allocation.model.EnrollmentRequest;
 import com.courseallocation.course_allocation.model.Student;
+import com.courseallocation.course_allocation.model.enums.AuditAction;
 import com.courseallocation.course_allocation.model.enums.EnrollmentStatus;
 import com.courseallocation.course_allocation.model.enums.RequestStatus;
 import com.courseallocation.course_allocation.repository.CourseRepository;
@@ -32,6 +41,14 @@ public class EnrollmentRequestService {
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final SeatLedgerService seatLedgerService;
+    private final WaitlistService waitlistService;
+    private final PaginationService paginationService;
+    private final ResourceVersionService resourceVersionService;
+    private final AuditService auditService;
+
+    @Value("${enrollment-requests.bulk-approve-max:10000}")
+    private int bulkApproveMax;
 
     public EnrollmentRequestResponse createRequest(EnrollmentRequestDto dto) {
         Student student = studentRepository.findById(dto.getStudentId())
@@ -77,10 +94,11 @@ public class EnrollmentRequestService {
     }
 
     @Transactional(readOnly = true)
-    public List<EnrollmentRequestResponse> getPendingRequests() {
-        return enrollmentRequestRepository.findByStatus(RequestStatus.PENDING).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public PageResponse<EnrollmentRequestResponse> getPendingRequests(String cursor, Integer size) {
+        int pageSize = paginationService.pageSize(size);
+        List<EnrollmentRequest> requests = enrollmentRequestRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                RequestStatus.PENDING, paginationService.afterId(cursor), paginationService.fetchLimit(pageSize));
+        return paginationService.toPage(requests, pageSize, EnrollmentRequest::getId, this::mapToResponse);
     }
 
     @Transactional(readOnly = true)
@@ -94,6 +112,7 @@ public class EnrollmentRequestService {
         EnrollmentRequest request = enrollmentRequestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Enrollment request not found"));
 
+        RequestStatus previousStatus = request.getStatus();
         RequestStatus newStatus = RequestStatus.valueOf(update.getStatus());
         request.setStatus(newStatus);
         request.setRejectionReason(update.getReason());
@@ -104,6 +123,16 @@ public class EnrollmentRequestService {
         }
 
         EnrollmentRequest updated = enrollmentRequestRepository.save(request);
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("from", previousStatus.name());
+        details.put("to", newStatus.name());
+        if (update.getReason() != null) {
+            details.put("reason", update.getReason());
+        }
+        auditService.record(AuditAction.REQUEST_STATUS_CHANGE, "EnrollmentRequest", id, details);
+        if (previousStatus == RequestStatus.WAITLISTED || newStatus == RequestStatus.WAITLISTED) {
+            waitlistService.refreshAfterCommit(List.of(request.getCourse().getId()));
+        }
         return mapToResponse(updated);
     }
 
@@ -115,6 +144,10 @@ public class EnrollmentRequestService {
             return; // Already enrolled
         }
 
+        if (!seatLedgerService.tryReserve(request.getCourse().getId())) {
+            throw new RuntimeException("Course is full");
+        }
+
         Enrollment enrollment = new Enrollment();
         enrollment.setStudent(request.getStudent());
         enrollment.setCourse(request.getCourse());
@@ -130,21 +163,113 @@ public class EnrollmentRequestService {
         if (request.getStatus() != RequestStatus.PENDING) {
             throw new RuntimeException("Can only cancel pending requests");
         }
+        auditService.record(AuditAction.REQUEST_STATUS_CHANGE, "EnrollmentRequest", id,
+                Map.of("from", RequestStatus.PENDING.name(), "to", RequestStatus.CANCELLED.name()));
 
         enrollmentRequestRepository.delete(request);
     }
 
+    /**
+     * Approves the requests in one pass. The affected courses are locked for the whole transaction and seats are
+     * handed out in the order the ids are given; requests beyond a course's free seats are waitlisted instead.
+     * Requests that are already approved are left as they are, and those whose student is already enrolled are
+     * approved without taking a seat.
+     */
     public List<EnrollmentRequestResponse> bulkApprove(List<Long> requestIds) {
-        return requestIds.stream()
-                .map(id -> {
-                    EnrollmentRequestStatusUpdate update = new EnrollmentRequestStatusUpdate();
-                    update.setStatus("APPROVED");
-                    return updateRequestStatus(id, update);
-                })
+        List<Long> ids = requestIds.stream().distinct().toList();
+        if (ids.size() > bulkApproveMax) {
+            throw new RuntimeException("At most " + bulkApproveMax + " requests can be approved at once");
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Object[]> rows = new HashMap<>();
+        for (Object[] row : enrollmentRequestRepository.findApprovalRowsByIdIn(ids)) {
+            rows.put((Long) row[0], row);
+        }
+        if (rows.size() != ids.size()) {
+            throw new RuntimeException("Enrollment request not found");
+        }
+
+        Set<Long> alreadyEnrolled = new HashSet<>(enrollmentRequestRepository.findIdsWithExistingEnrollment(ids));
+        Map<Long, List<Long>> seatRequestsByCourse = new LinkedHashMap<>();
+        List<Long> approvedWithoutSeat = new ArrayList<>();
+        Set<Long> touchedCourses = new HashSet<>();
+        for (Long id : ids) {
+            Object[] row = rows.get(id);
+            if (row[3] == RequestStatus.APPROVED) {
+                continue;
+            }
+            touchedCourses.add((Long) row[1]);
+            if (alreadyEnrolled.contains(id)) {
+                approvedWithoutSeat.add(id);
+            } else {
+                seatRequestsByCourse.computeIfAbsent((Long) row[1], k -> new ArrayList<>()).add(id);
+            }
+        }
+
+        Map<Long, Integer> freeSeats = new HashMap<>();
+        if (!seatRequestsByCourse.isEmpty()) {
+            for (Object[] row : courseRepository.lockSeatCountsByIdIn(seatRequestsByCourse.keySet())) {
+                int capacity = ((Number) row[1]).intValue();
+                int enrolled = row[2] != null ? ((Number) row[2]).intValue() : 0;
+                freeSeats.put(((Number) row[0]).longValue(), Math.max(0, capacity - enrolled));
+            }
+        }
+
+        List<Long> seated = new ArrayList<>();
+        List<Long> waitlisted = new ArrayList<>();
+        // Courses grouped by the number of seats they gain, so enrollment counts move in a few statements
+        Map<Integer, List<Long>> coursesBySeatsTaken = new HashMap<>();
+        seatRequestsByCourse.forEach((courseId, courseRequestIds) -> {
+            int wanted = Math.min(courseRequestIds.size(), freeSeats.getOrDefault(courseId, 0));
+            int granted = seatLedgerService.reserveUpTo(courseId, wanted);
+            seated.addAll(courseRequestIds.subList(0, granted));
+            waitlisted.addAll(courseRequestIds.subList(granted, courseRequestIds.size()));
+            if (granted > 0) {
+                coursesBySeatsTaken.computeIfAbsent(granted, k -> new ArrayList<>()).add(courseId);
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!seated.isEmpty()) {
+            enrollmentRepository.insertFromRequests(seated);
+            coursesBySeatsTaken.forEach((seats, courseIds) -> courseRepository.increaseEnrollmentByIdIn(courseIds, seats));
+        }
+        List<Long> approved = new ArrayList<>(seated);
+        approved.addAll(approvedWithoutSeat);
+        if (!approved.isEmpty()) {
+            enrollmentRequestRepository.updateStatusAndReasonByIdIn(approved, RequestStatus.APPROVED, null, now);
+        }
+        if (!waitlisted.isEmpty()) {
+            enrollmentRequestRepository.updateStatusByIdIn(waitlisted, RequestStatus.WAITLISTED, now);
+        }
+
+        for (Long id : seated) {
+            resourceVersionService.studentChanged((Long) rows.get(id)[2]);
+        }
+        recordBulkTransitions(approved, RequestStatus.APPROVED, rows);
+        recordBulkTransitions(waitlisted, RequestStatus.WAITLISTED, rows);
+        waitlistService.refreshAfterCommit(touchedCourses);
+
+        Map<Long, EnrollmentRequest> updated = new HashMap<>();
+        for (EnrollmentRequest request : enrollmentRequestRepository.findByIdIn(ids)) {
+            updated.put(request.getId(), request);
+        }
+        return ids.stream()
+                .map(id -> mapToResponse(updated.get(id)))
                 .collect(Collectors.toList());
     }
 
-    private EnrollmentRequestResponse mapToResponse(EnrollmentRequest request) {
+    private void recordBulkTransitions(List<Long> ids, RequestStatus status, Map<Long, Object[]> rows) {
+        for (Long id : ids) {
+            auditService.record(AuditAction.REQUEST_STATUS_CHANGE, "EnrollmentRequest", id,
+                    Map.of("from", ((RequestStatus) rows.get(id)[3]).name(), "to", status.name(), "bulk", true));
+        }
+    }
+
+    EnrollmentRequestResponse mapToResponse(EnrollmentRequest request) {
         EnrollmentRequestResponse response = new EnrollmentRequestResponse();
         response.setId(request.getId());
         response.setStudentId(request.getStudent().getId());
@@ -1,15 +1,18 @@
 package com.courseallocation.course_allocation.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.courseallocation.course_allocation.dto.EnrollmentResponse;
+import com.courseallocation.course_allocation.dto.PageResponse;
 import com.courseallocation.course_allocation.model.Course;
 import com.courseallocation.course_allocation.model.Enrollment;
 import com.courseallocation.course_allocation.model.Student;
+import com.courseallocation.course_allocation.model.enums.AuditAction;
 import com.courseallocation.course_allocation.model.enums.EnrollmentStatus;
 import com.courseallocation.course_allocation.repository.CourseRepository;
 import com.courseallocation.course_allocation.repository.EnrollmentRepository;
@@ -25,6 +28,10 @@ public class EnrollmentService {
     private final EnrollmentRepository enrollmentRepository;
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final SeatLedgerService seatLedgerService;
+    private final WaitlistService waitlistService;
+    private final PaginationService paginationService;
+    private final AuditService auditService;
 
     public EnrollmentResponse enrollStudent(Long studentId, Long courseId) {
         Student student = studentRepository.findById(studentId)
@@ -36,8 +43,7 @@ public class EnrollmentService {
             throw new RuntimeException("Student is already enrolled in this course");
         }
 
-        long currentEnrollment = enrollmentRepository.countByCourseId(courseId);
-        if (currentEnrollment >= course.getMaxCapacity()) {
+        if (!seatLedgerService.tryReserve(courseId)) {
             throw new RuntimeException("Course is full");
         }
 
@@ -47,6 +53,8 @@ public class EnrollmentService {
         enrollment.setStatus(EnrollmentStatus.ENROLLED);
 
         Enrollment saved = enrollmentRepository.save(enrollment);
+        auditService.record(AuditAction.ENROLL, "Enrollment", saved.getId(),
+                Map.of("studentId", studentId, "courseId", courseId));
         return mapToResponse(saved);
     }
 
@@ -56,20 +64,41 @@ public class EnrollmentService {
                 .collect(Collectors.toList());
     }
 
-    public List<EnrollmentResponse> getCourseEnrollments(Long courseId) {
-        return enrollmentRepository.findByCourseId(courseId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResponse<EnrollmentResponse> getCourseEnrollments(Long courseId, String cursor, Integer size) {
+        int pageSize = paginationService.pageSize(size);
+        List<Enrollment> enrollments = enrollmentRepository.findByCourseIdAndIdGreaterThanOrderByIdAsc(
+                courseId, paginationService.afterId(cursor), paginationService.fetchLimit(pageSize));
+        return paginationService.toPage(enrollments, pageSize, Enrollment::getId, this::mapToResponse);
     }
 
     public void dropEnrollment(Long enrollmentId) {
-        Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
-                .orElseThrow(() -> new RuntimeException("Enrollment not found"));
+        drop(enrollmentRepository.findById(enrollmentId)
+                .orElseThrow(() -> new RuntimeException("Enrollment not found")));
+    }
+
+    // A student may only drop their own enrollments; someone else's is reported as not found
+    public void dropEnrollment(Long enrollmentId, Long studentId) {
+        drop(enrollmentRepository.findById(enrollmentId)
+                .filter(enrollment -> enrollment.getStudent().getId().equals(studentId))
+                .orElseThrow(() -> new RuntimeException("Enrollment not found")));
+    }
+
+    private void drop(Enrollment enrollment) {
+        Long enrollmentId = enrollment.getId();
+        auditService.record(AuditAction.DROP, "Enrollment", enrollmentId, Map.of(
+                "studentId", enrollment.getStudent().getId(),
+                "courseId", enrollment.getCourse().getId(),
+                "previousStatus", enrollment.getStatus().name()));
+        if (enrollment.getStatus() == EnrollmentStatus.ENROLLED) {
+            seatLedgerService.release(enrollment.getCourse().getId());
+            waitlistService.seatsFreed(enrollment.getCourse().getId());
+        }
         enrollment.setStatus(EnrollmentStatus.DROPPED);
         enrollmentRepository.save(enrollment);
     }
 
-    private EnrollmentResponse mapToResponse(Enrollment enrollment) {
+    EnrollmentResponse mapToResponse(Enrollment enrollment) {
         Student student = enrollment.getStudent();
         
         return new EnrollmentResponse(
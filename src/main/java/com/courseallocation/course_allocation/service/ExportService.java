@@ -0,0 +1,125 @@
+package com.courseallocation.course_allocation.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.courseallocation.course_allocation.dto.CourseResponse;
+import com.courseallocation.course_allocation.model.Enrollment;
+import com.courseallocation.course_allocation.model.EnrollmentRequest;
+import com.courseallocation.course_allocation.model.Student;
+import com.courseallocation.course_allocation.repository.EnrollmentRepository;
+import com.courseallocation.course_allocation.repository.EnrollmentRequestRepository;
+import com.courseallocation.course_allocation.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes whole collections as newline-delimited JSON. Rows are read through a database cursor and written as
+ * they arrive, so memory stays flat however large the table is: every batch the output is flushed to the
+ * client and the persistence context is cleared. Courses come from the catalog snapshot instead.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentRequestRepository enrollmentRequestRepository;
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final EnrollmentRequestService enrollmentRequestService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+    private final int batchSize;
+
+    public ExportService(StudentRepository studentRepository, EnrollmentRepository enrollmentRepository,
+            EnrollmentRequestRepository enrollmentRequestRepository, StudentService studentService,
+            CourseService courseService, EnrollmentService enrollmentService,
+            EnrollmentRequestService enrollmentRequestService, CatalogSnapshotService catalogSnapshotService,
+            EntityManager entityManager, ObjectMapper objectMapper,
+            @Value("${export.batch-size:500}") int batchSize) {
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentRequestRepository = enrollmentRequestRepository;
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.enrollmentRequestService = enrollmentRequestService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void exportStudents(OutputStream out) throws IOException {
+        try (Stream<Student> students = studentRepository.streamAll()) {
+            writeLines(out, students.map(studentService::mapToResponse).iterator());
+        }
+    }
+
+    public void exportEnrollments(OutputStream out) throws IOException {
+        try (Stream<Enrollment> enrollments = enrollmentRepository.streamAll()) {
+            writeLines(out, enrollments.map(enrollmentService::mapToResponse).iterator());
+        }
+    }
+
+    public void exportEnrollmentRequests(OutputStream out) throws IOException {
+        try (Stream<EnrollmentRequest> requests = enrollmentRequestRepository.streamAll()) {
+            writeLines(out, requests.map(enrollmentRequestService::mapToResponse).iterator());
+        }
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public void exportCourses(OutputStream out) throws IOException {
+        List<CourseResponse> courses = catalogSnapshotService.current().getCourses();
+        try (JsonGenerator generator = createGenerator(out)) {
+            for (int from = 0; from < courses.size(); from += batchSize) {
+                List<CourseResponse> batch = courses.subList(from, Math.min(from + batchSize, courses.size()));
+                for (CourseResponse course : courseService.withLiveSeats(batch)) {
+                    writeLine(generator, course);
+                }
+                generator.flush();
+            }
+        }
+    }
+
+    private void writeLines(OutputStream out, Iterator<?> rows) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            int written = 0;
+            while (rows.hasNext()) {
+                writeLine(generator, rows.next());
+                if (++written % batchSize == 0) {
+                    generator.flush();
+                    // Mapped rows no longer need their entities; keep the session from growing with the cursor
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = writer.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private void writeLine(JsonGenerator generator, Object row) throws IOException {
+        writer.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+}
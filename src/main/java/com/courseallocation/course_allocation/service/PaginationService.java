@@ -0,0 +1,89 @@
+package com.courseallocation.course_allocation.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.courseallocation.course_allocation.dto.PageResponse;
+
+/**
+ * Keyset pagination over primary keys. A cursor is an opaque token wrapping the last id of the previous page,
+ * so every page is an index range scan ({@code id > :afterId ORDER BY id LIMIT n}) however deep the client goes.
+ */
+@Service
+public class PaginationService {
+
+    private static final String CURSOR_PREFIX = "k1:";
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PaginationService(@Value("${pagination.default-page-size:50}") int defaultPageSize,
+            @Value("${pagination.max-page-size:500}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1) {
+            throw new RuntimeException("Page size must be at least 1");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    // One row more than the page, so the repository result tells whether another page exists
+    public Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public long afterId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid page cursor");
+        }
+    }
+
+    public <E, R> PageResponse<R> toPage(List<E> fetched, int pageSize, ToLongFunction<E> idOf, Function<E, R> mapper) {
+        return toPageMappedAsList(fetched, pageSize, idOf, page -> {
+            List<R> items = new ArrayList<>(page.size());
+            for (E row : page) {
+                items.add(mapper.apply(row));
+            }
+            return items;
+        });
+    }
+
+    // For mappers that work on the whole page at once
+    public <E, R> PageResponse<R> toPageMappedAsList(List<E> fetched, int pageSize, ToLongFunction<E> idOf,
+            Function<List<E>, List<R>> pageMapper) {
+        boolean hasMore = fetched.size() > pageSize;
+        List<E> page = hasMore ? fetched.subList(0, pageSize) : fetched;
+
+        List<R> items = pageMapper.apply(page);
+        String nextCursor = hasMore ? encode(idOf.applyAsLong(page.get(page.size() - 1))) : null;
+        return new PageResponse<>(items, items.size(), hasMore, nextCursor);
+    }
+
+    private String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,207 @@
+package com.courseallocation.course_allocation.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.courseallocation.course_allocation.model.enums.RequirementType;
+import com.courseallocation.course_allocation.repository.CourseRepository;
+import com.courseallocation.course_allocation.repository.CourseRequirementRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory prerequisite DAG over all courses. The transitive closure is precomputed in both directions as
+ * bitsets over a dense course index, so "what does this course require" and "what does it unlock" are
+ * answered without touching the database. Corequisites are not ordering constraints and are left out.
+ * The index is rebuilt lazily after any course or requirement change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PrerequisiteGraphService {
+
+    private final CourseRepository courseRepository;
+    private final CourseRequirementRepository courseRequirementRepository;
+
+    private volatile Graph graph;
+    private volatile long generation;
+
+    public List<Long> getAllPrerequisiteIds(Long courseId) {
+        Graph current = graph();
+        Integer node = current.index.get(courseId);
+        return node != null ? current.toIds(current.requires[node]) : Collections.emptyList();
+    }
+
+    public List<Long> getUnlockedCourseIds(Long courseId) {
+        Graph current = graph();
+        Integer node = current.index.get(courseId);
+        return node != null ? current.toIds(current.unlocks[node]) : Collections.emptyList();
+    }
+
+    public boolean requires(Long courseId, Long prerequisiteId) {
+        Graph current = graph();
+        Integer node = current.index.get(courseId);
+        Integer prerequisite = current.index.get(prerequisiteId);
+        return node != null && prerequisite != null && current.requires[node].get(prerequisite);
+    }
+
+    // Rejects an edge courseId -> prerequisiteId that would close a cycle
+    public void checkNewPrerequisite(Long courseId, Long prerequisiteId) {
+        if (courseId.equals(prerequisiteId)) {
+            throw new RuntimeException("A course cannot be its own prerequisite");
+        }
+        if (requires(prerequisiteId, courseId)) {
+            throw new RuntimeException("Prerequisite would create a cycle: course " + prerequisiteId
+                    + " already requires course " + courseId);
+        }
+    }
+
+    public void invalidate() {
+        markStale();
+        TransactionCallbacks.afterCommit(this::markStale);
+    }
+
+    private synchronized void markStale() {
+        generation++;
+        graph = null;
+    }
+
+    private Graph graph() {
+        Graph current = graph;
+        if (current != null) {
+            return current;
+        }
+        long startedAt = generation;
+        Graph built = build();
+        synchronized (this) {
+            // A change committed while building leaves the index stale, so only cache an up-to-date build
+            if (generation == startedAt) {
+                graph = built;
+            }
+        }
+        return built;
+    }
+
+    private Graph build() {
+        List<Long> courseIds = courseRepository.findAllIds();
+        int size = courseIds.size();
+        long[] ids = new long[size];
+        Map<Long, Integer> index = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            ids[i] = courseIds.get(i);
+            index.put(courseIds.get(i), i);
+        }
+
+        List<List<Integer>> prerequisites = new ArrayList<>(size);
+        List<List<Integer>> dependents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            prerequisites.add(new ArrayList<>(2));
+            dependents.add(new ArrayList<>(2));
+        }
+        int[] pending = new int[size];
+        for (Object[] edge : courseRequirementRepository.findPrerequisiteEdges(RequirementType.COREQUISITE)) {
+            Integer course = index.get((Long) edge[0]);
+            Integer prerequisite = index.get((Long) edge[1]);
+            if (course == null || prerequisite == null) {
+                continue;
+            }
+            prerequisites.get(course).add(prerequisite);
+            dependents.get(prerequisite).add(course);
+            pending[course]++;
+        }
+
+        BitSet[] requires = new BitSet[size];
+        BitSet[] unlocks = new BitSet[size];
+        // Sized on demand: closures are usually a handful of courses, so full-width sets would cost O(n^2) bits
+        for (int i = 0; i < size; i++) {
+            requires[i] = new BitSet();
+            unlocks[i] = new BitSet();
+        }
+
+        // Topological order: a course's closure is final once all of its prerequisites are final
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            if (pending[i] == 0) {
+                ready.add(i);
+            }
+        }
+        boolean[] done = new boolean[size];
+        int processed = 0;
+        while (!ready.isEmpty()) {
+            int node = ready.poll();
+            for (int prerequisite : prerequisites.get(node)) {
+                requires[node].set(prerequisite);
+                requires[node].or(requires[prerequisite]);
+            }
+            done[node] = true;
+            processed++;
+            for (int dependent : dependents.get(node)) {
+                if (--pending[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        // Cycles can only come from rows written around the service; close them by plain reachability
+        if (processed < size) {
+            log.warn("Prerequisite graph contains cycles across {} courses", size - processed);
+            for (int i = 0; i < size; i++) {
+                if (!done[i]) {
+                    reach(i, prerequisites, requires[i]);
+                }
+            }
+        }
+
+        for (int node = 0; node < size; node++) {
+            BitSet required = requires[node];
+            for (int p = required.nextSetBit(0); p >= 0; p = required.nextSetBit(p + 1)) {
+                unlocks[p].set(node);
+            }
+        }
+
+        return new Graph(ids, index, requires, unlocks);
+    }
+
+    private void reach(int start, List<List<Integer>> prerequisites, BitSet into) {
+        ArrayDeque<Integer> stack = new ArrayDeque<>(prerequisites.get(start));
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            if (!into.get(node)) {
+                into.set(node);
+                stack.addAll(prerequisites.get(node));
+            }
+        }
+    }
+
+    private static final class Graph {
+        private final long[] ids;
+        private final Map<Long, Integer> index;
+        private final BitSet[] requires;
+        private final BitSet[] unlocks;
+
+        private Graph(long[] ids, Map<Long, Integer> index, BitSet[] requires, BitSet[] unlocks) {
+            this.ids = ids;
+            this.index = index;
+            this.requires = requires;
+            this.unlocks = unlocks;
+        }
+
+        private List<Long> toIds(BitSet nodes) {
+            List<Long> result = new ArrayList<>(nodes.cardinality());
+            for (int i = nodes.nextSetBit(0); i >= 0; i = nodes.nextSetBit(i + 1)) {
+                result.add(ids[i]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.courseallocation.course_allocation.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.courseallocation.course_allocation.dto.RateLimitStatsResponse;
+
+/**
+ * Token buckets per caller for the endpoints scripted clients like to hammer. Each bucket is a single
+ * {@link AtomicLong} holding the instant it will be full again; taking a token moves that instant one refill
+ * interval forward with a CAS, and is refused when it would land more than a full bucket ahead of now. A bucket
+ * whose instant has passed is full, so it is indistinguishable from an absent one and can be dropped at any time:
+ * that is how idle callers are evicted and how the number of tracked keys stays bounded. If every tracked bucket is
+ * still draining when a new caller arrives, the caller is let through untracked and counted as overflowed, so a
+ * flood of distinct keys cannot lock out everyone else.
+ */
+@Service
+public class RateLimitService {
+
+    // New keys between sweeps of refilled buckets; a sweep also runs when the key limit is reached
+    private static final int SWEEP_EVERY = 4096;
+    private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Marks a bucket taken out of the map, so a caller still holding it looks the key up again
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    private final Policy login;
+    private final Policy enroll;
+
+    public RateLimitService(@Value("${rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${rate-limit.login.capacity:10}") int loginCapacity,
+            @Value("${rate-limit.login.refill-per-minute:10}") double loginRefillPerMinute,
+            @Value("${rate-limit.enroll.capacity:20}") int enrollCapacity,
+            @Value("${rate-limit.enroll.refill-per-minute:60}") double enrollRefillPerMinute) {
+        this.login = new Policy("login", loginCapacity, loginRefillPerMinute, maxKeys);
+        this.enroll = new Policy("enroll", enrollCapacity, enrollRefillPerMinute, maxKeys);
+    }
+
+    public Policy login() {
+        return login;
+    }
+
+    public Policy enroll() {
+        return enroll;
+    }
+
+    public List<RateLimitStatsResponse> getStats() {
+        return List.of(login.toResponse(), enroll.toResponse());
+    }
+
+    public static final class Policy {
+        private final String name;
+        private final int capacity;
+        private final double refillPerMinute;
+        private final int maxKeys;
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        private final Map<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong newKeys = new AtomicLong();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+        private volatile long lastSweepNanos = System.nanoTime();
+
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder overflowed = new LongAdder();
+
+        private Policy(String name, int capacity, double refillPerMinute, int maxKeys) {
+            this.name = name;
+            this.capacity = Math.max(1, capacity);
+            this.refillPerMinute = refillPerMinute;
+            this.maxKeys = Math.max(1, maxKeys);
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.MINUTES.toNanos(1) / refillPerMinute));
+            this.burstNanos = this.capacity * intervalNanos;
+        }
+
+        /**
+         * Takes a token from the caller's bucket. Returns 0 when one was taken, otherwise the nanoseconds until
+         * the next token is due.
+         */
+        public long tryAcquire(Object key) {
+            long now = System.nanoTime();
+            AtomicLong fullAt = buckets.get(key);
+            while (true) {
+                if (fullAt == null) {
+                    fullAt = track(key, now);
+                    if (fullAt == null) {
+                        overflowed.increment();
+                        allowed.increment();
+                        return 0;
+                    }
+                }
+                long current = fullAt.get();
+                if (current == REMOVED) {
+                    fullAt = buckets.get(key);
+                    continue;
+                }
+                long next = Math.max(current, now) + intervalNanos;
+                long wait = next - now - burstNanos;
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    allowed.increment();
+                    return 0;
+                }
+            }
+        }
+
+        private AtomicLong track(Object key, long now) {
+            if ((newKeys.incrementAndGet() % SWEEP_EVERY) == 0 || buckets.size() >= maxKeys) {
+                sweep(now);
+            }
+            if (buckets.size() >= maxKeys) {
+                return null;
+            }
+            AtomicLong created = new AtomicLong(now);
+            AtomicLong existing = buckets.putIfAbsent(key, created);
+            return existing != null ? existing : created;
+        }
+
+        // Refilled buckets carry no state, so dropping them never changes a decision. A bucket is marked removed
+        // before it leaves the map, so a caller racing the sweep retries on the key's current bucket instead of
+        // taking a token from the one being dropped
+        private void sweep(long now) {
+            if (now - lastSweepNanos < MIN_SWEEP_INTERVAL_NANOS || !sweeping.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                buckets.entrySet().removeIf(entry -> {
+                    AtomicLong fullAt = entry.getValue();
+                    long current = fullAt.get();
+                    return current <= now && current != REMOVED && fullAt.compareAndSet(current, REMOVED);
+                });
+                lastSweepNanos = now;
+            } finally {
+                sweeping.set(false);
+            }
+        }
+
+        private RateLimitStatsResponse toResponse() {
+            return new RateLimitStatsResponse(name, capacity, refillPerMinute, buckets.size(), maxKeys,
+                    allowed.sum(), rejected.sum(), overflowed.sum());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.courseallocation.course_allocation.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Version counters behind the ETags of cacheable reads. Catalog resources are versioned by the catalog
+ * snapshot, plus the seat ledger where seat counts are part of the body; per-student resources by a counter
+ * bumped after any commit that touches the student or their enrollments. Controllers compare the ETag
+ * before calling a service, so an unchanged resource costs neither a query nor serialization.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResourceVersionService {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final SeatLedgerService seatLedgerService;
+
+    // Counters restart with the process; the boot time keeps ETags from an earlier run from matching
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong studentClock = new AtomicLong();
+    private final Map<Long, Long> studentVersions = new ConcurrentHashMap<>();
+    private volatile long allStudentsVersion;
+
+    public String catalogETag() {
+        return "\"" + epoch + "-c" + catalogSnapshotService.current().getVersion() + "\"";
+    }
+
+    // For bodies that include live seat counts
+    public String courseListingETag() {
+        return "\"" + epoch + "-c" + catalogSnapshotService.current().getVersion()
+                + "-s" + seatLedgerService.getVersion() + "\"";
+    }
+
+    // Student records also embed course titles, codes and lecturers from the catalog
+    public String studentETag(Long studentId) {
+        long version = Math.max(studentVersions.getOrDefault(studentId, 0L), allStudentsVersion);
+        return "\"" + epoch + "-c" + catalogSnapshotService.current().getVersion() + "-u" + version + "\"";
+    }
+
+    // Bumped after commit, so no reader can pair the new version with data from before the change
+    public void studentChanged(Long studentId) {
+        TransactionCallbacks.afterCommit(() -> studentVersions.put(studentId, studentClock.incrementAndGet()));
+    }
+
+    // For bulk statements that write enrollments without telling us whose
+    public void allStudentsChanged() {
+        TransactionCallbacks.afterCommit(() -> allStudentsVersion = studentClock.incrementAndGet());
+    }
+
+}
@@ -0,0 +1,293 @@
+package com.courseallocation.course_allocation.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.courseallocation.course_allocation.model.Course;
+import com.courseallocation.course_allocation.repository.CourseRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-course seat counters held in memory so capacity checks never run COUNT(*) over enrollments.
+ * Every reservation is mirrored to {@code courses.current_enrollment} (bumping {@code @Version}) in the
+ * caller's transaction, and is handed back automatically if that transaction rolls back.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SeatLedgerService {
+
+    private final CourseRepository courseRepository;
+
+    private final Map<Long, Seats> seats = new ConcurrentHashMap<>();
+    // Bumped after every counter change, so readers can tell whether any seat count moved
+    private final AtomicLong version = new AtomicLong();
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        courseRepository.refreshCurrentEnrollment();
+        for (Object[] row : courseRepository.findSeatCounts()) {
+            seats.put((Long) row[0], new Seats(((Number) row[1]).intValue(), ((Number) row[2]).intValue()));
+        }
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public int getEnrolledCount(Long courseId) {
+        return seatsFor(courseId).enrolled.get();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public int getAvailableSeats(Long courseId) {
+        Seats courseSeats = seatsFor(courseId);
+        return Math.max(0, courseSeats.capacity - courseSeats.enrolled.get());
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean hasAvailableSeats(Long courseId) {
+        return getAvailableSeats(courseId) > 0;
+    }
+
+    // Enrolled counts per course, aligned with the given ids
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public int[] getEnrolledCounts(long[] courseIds) {
+        int[] enrolled = new int[courseIds.length];
+        for (int i = 0; i < courseIds.length; i++) {
+            enrolled[i] = seatsFor(courseIds[i]).enrolled.get();
+        }
+        return enrolled;
+    }
+
+    // Current capacity per course, aligned with the given ids
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public int[] getCapacities(long[] courseIds) {
+        int[] capacities = new int[courseIds.length];
+        for (int i = 0; i < courseIds.length; i++) {
+            capacities[i] = seatsFor(courseIds[i]).capacity;
+        }
+        return capacities;
+    }
+
+    // Free seats per course, aligned with the given ids
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public int[] getAvailableSeats(long[] courseIds) {
+        int[] available = new int[courseIds.length];
+        for (int i = 0; i < courseIds.length; i++) {
+            Seats courseSeats = seatsFor(courseIds[i]);
+            available[i] = Math.max(0, courseSeats.capacity - courseSeats.enrolled.get());
+        }
+        return available;
+    }
+
+    /**
+     * Takes one seat if the course is not full. The database update is conditional as well, so another
+     * node holding a stale counter cannot oversubscribe the course.
+     */
+    public boolean tryReserve(Long courseId) {
+        Seats courseSeats = seatsFor(courseId);
+        if (!courseSeats.tryTake(1)) {
+            return false;
+        }
+        version.incrementAndGet();
+        if (courseRepository.incrementEnrollmentIfAvailable(courseId) == 0) {
+            courseSeats.enrolled.addAndGet(-1);
+            version.incrementAndGet();
+            resync(courseId);
+            return false;
+        }
+        releaseOnRollback(courseSeats, 1);
+        return true;
+    }
+
+    /**
+     * Takes as many of the requested seats as are free and returns how many were taken. The caller is
+     * responsible for refreshing {@code current_enrollment} once the matching enrollments are written.
+     */
+    public int reserveUpTo(Long courseId, int requested) {
+        Seats courseSeats = seatsFor(courseId);
+        while (true) {
+            int enrolled = courseSeats.enrolled.get();
+            int granted = Math.min(requested, Math.max(0, courseSeats.capacity - enrolled));
+            if (granted == 0) {
+                return 0;
+            }
+            if (courseSeats.enrolled.compareAndSet(enrolled, enrolled + granted)) {
+                version.incrementAndGet();
+                releaseOnRollback(courseSeats, granted);
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * Hands back seats taken by {@link #reserveUpTo} that ended up unused. They are taken again if the transaction
+     * rolls back, because the reservation's own rollback hands back all of it.
+     */
+    public void returnUnused(Long courseId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Seats courseSeats = seatsFor(courseId);
+        courseSeats.give(count);
+        version.incrementAndGet();
+        TransactionCallbacks.afterRollback(() -> {
+            courseSeats.enrolled.addAndGet(count);
+            version.incrementAndGet();
+        });
+    }
+
+    // Admin override: takes a seat even when the course is at capacity
+    public void forceReserve(Long courseId) {
+        Seats courseSeats = seatsFor(courseId);
+        courseSeats.enrolled.incrementAndGet();
+        version.incrementAndGet();
+        courseRepository.adjustEnrollment(courseId, 1);
+        releaseOnRollback(courseSeats, 1);
+    }
+
+    public void release(Long courseId) {
+        Seats courseSeats = seatsFor(courseId);
+        courseSeats.give(1);
+        version.incrementAndGet();
+        courseRepository.adjustEnrollment(courseId, -1);
+        TransactionCallbacks.afterRollback(() -> {
+            courseSeats.enrolled.incrementAndGet();
+            version.incrementAndGet();
+        });
+    }
+
+    // Starts tracking a course created in the current transaction once it commits
+    public void register(Course course) {
+        Long courseId = course.getId();
+        int capacity = course.getMaxCapacity();
+        int enrolled = course.getCurrentEnrollment();
+        TransactionCallbacks.afterCommit(() -> {
+            seats.put(courseId, new Seats(capacity, enrolled));
+            version.incrementAndGet();
+        });
+    }
+
+    // Takes effect when the caller's transaction commits, so seats are never handed out against a capacity
+    // that may still roll back
+    public void updateCapacity(Long courseId, int capacity) {
+        TransactionCallbacks.afterCommit(() -> {
+            Seats courseSeats = seats.get(courseId);
+            if (courseSeats != null) {
+                courseSeats.capacity = capacity;
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    public void evict(Long courseId) {
+        seats.remove(courseId);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Reloads a course's counters from the database row. The existing counters are updated in place, so rollback
+     * callbacks already registered against them keep adjusting the live entry.
+     */
+    public void resync(Long courseId) {
+        List<Object[]> rows = courseRepository.findSeatCountsById(courseId);
+        if (rows.isEmpty()) {
+            evict(courseId);
+            return;
+        }
+        apply(courseId, ((Number) rows.get(0)[0]).intValue(), ((Number) rows.get(0)[1]).intValue());
+        version.incrementAndGet();
+    }
+
+    // Reloads several courses in one query once the current transaction has committed, for writers that set
+    // current_enrollment from the enrollment rows rather than from their reservations
+    public void resyncAfterCommit(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(courseIds);
+        TransactionCallbacks.afterCommit(() -> {
+            Set<Long> missing = new HashSet<>(ids);
+            for (Object[] row : courseRepository.findSeatCountsByIdIn(ids)) {
+                Long courseId = (Long) row[0];
+                apply(courseId, ((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+                missing.remove(courseId);
+            }
+            missing.forEach(seats::remove);
+            version.incrementAndGet();
+        });
+    }
+
+    private void apply(Long courseId, int capacity, int enrolled) {
+        Seats courseSeats = seats.putIfAbsent(courseId, new Seats(capacity, enrolled));
+        if (courseSeats != null) {
+            courseSeats.capacity = capacity;
+            courseSeats.enrolled.set(enrolled);
+        }
+    }
+
+    private Seats seatsFor(Long courseId) {
+        Seats courseSeats = seats.get(courseId);
+        if (courseSeats != null) {
+            return courseSeats;
+        }
+        List<Object[]> rows = courseRepository.findSeatCountsById(courseId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        Seats loaded = new Seats(((Number) rows.get(0)[0]).intValue(), ((Number) rows.get(0)[1]).intValue());
+        Seats existing = seats.putIfAbsent(courseId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void releaseOnRollback(Seats courseSeats, int count) {
+        TransactionCallbacks.afterRollback(() -> {
+            courseSeats.give(count);
+            version.incrementAndGet();
+        });
+    }
+
+    private static final class Seats {
+        private volatile int capacity;
+        private final AtomicInteger enrolled;
+
+        private Seats(int capacity, int enrolled) {
+            this.capacity = capacity;
+            this.enrolled = new AtomicInteger(enrolled);
+        }
+
+        private boolean tryTake(int count) {
+            while (true) {
+                int current = enrolled.get();
+                if (current + count > capacity) {
+                    return false;
+                }
+                if (enrolled.compareAndSet(current, current + count)) {
+                    return true;
+                }
+            }
+        }
+
+        private void give(int count) {
+            enrolled.updateAndGet(current -> Math.max(0, current - count));
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.courseallocation.course_allocation.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.courseallocation.course_allocation.dto.PageResponse;
 import com.courseallocation.course_allocation.dto.SemesterRequest;
 import com.courseallocation.course_allocation.dto.SemesterResponse;
 import com.courseallocation.course_allocation.model.Semester;
@@ -19,6 +20,9 @@ import lombok.RequiredArgsConstructor;
 public class SemesterService {
 
     private final SemesterRepository semesterRepository;
+    private final PaginationService paginationService;
+    private final CourseService courseService;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     public SemesterResponse createSemester(SemesterRequest request) {
         if (semesterRepository.existsBySemesterCode(request.getSemesterCode())) {
@@ -40,31 +44,34 @@ public class SemesterService {
         semester.setIsActive(request.getIsActive() != null ? request.getIsActive() : false);
 
         Semester saved = semesterRepository.save(semester);
+        catalogSnapshotService.refreshAfterCommit();
         return mapToResponse(saved);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public SemesterResponse getSemesterById(Long id) {
-        Semester semester = semesterRepository.findById(id)
+        return catalogSnapshotService.current().getSemester(id)
                 .orElseThrow(() -> new RuntimeException("Semester not found with id: " + id));
-        return mapToResponse(semester);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public SemesterResponse getActiveSemester() {
-        Semester semester = semesterRepository.findFirstByIsActiveTrue()
+        return catalogSnapshotService.current().getActiveSemesters().stream()
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("No active semester found"));
-        return mapToResponse(semester);
     }
 
-    public List<SemesterResponse> getAllSemesters() {
-        return semesterRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PageResponse<SemesterResponse> getAllSemesters(String cursor, Integer size) {
+        int pageSize = paginationService.pageSize(size);
+        List<SemesterResponse> semesters = catalogSnapshotService.current().getSemestersAfter(
+                paginationService.afterId(cursor), pageSize + 1);
+        return paginationService.toPageMappedAsList(semesters, pageSize, SemesterResponse::getId, page -> page);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<SemesterResponse> getActiveSemesters() {
-        return semesterRepository.findByIsActive(true).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return catalogSnapshotService.current().getActiveSemesters();
     }
 
     public SemesterResponse updateSemester(Long id, SemesterRequest request) {
@@ -92,6 +99,8 @@ public class SemesterService {
         }
 
         Semester updated = semesterRepository.save(semester);
+        courseService.reindexSemesterCourses(id);
+        catalogSnapshotService.refreshAfterCommit();
         return mapToResponse(updated);
     }
 
@@ -100,6 +109,7 @@ public class SemesterService {
             throw new RuntimeException("Semester not found with id: " + id);
         }
         semesterRepository.deleteById(id);
+        catalogSnapshotService.refreshAfterCommit();
     }
 
     private SemesterResponse mapToResponse(Semester semester) {
@@ -4,27 +4,32 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.courseallocation.course_allocation.config.StudentPrincipal;
+import com.courseallocation.course_allocation.dto.CourseDetailsResponse;
 import com.courseallocation.course_allocation.dto.CourseEligibilityResponse;
 import com.courseallocation.course_allocation.dto.CourseGradeRecord;
 import com.courseallocation.course_allocation.dto.CourseResponse;
+import com.courseallocation.course_allocation.dto.EligibilityMatrixResponse;
 import com.courseallocation.course_allocation.dto.ScheduleResponse;
 import com.courseallocation.course_allocation.dto.ScheduledCourse;
 import com.courseallocation.course_allocation.dto.TranscriptResponse;
 import com.courseallocation.course_allocation.model.Course;
-import com.courseallocation.course_allocation.model.CourseRequirement;
 import com.courseallocation.course_allocation.model.Enrollment;
 import com.courseallocation.course_allocation.model.Semester;
 import com.courseallocation.course_allocation.model.Student;
 import com.courseallocation.course_allocation.model.enums.EnrollmentStatus;
+import com.courseallocation.course_allocation.model.enums.RequirementType;
 import com.courseallocation.course_allocation.repository.CourseRepository;
-import com.courseallocation.course_allocation.repository.CourseRequirementRepository;
 import com.courseallocation.course_allocation.repository.EnrollmentRepository;
 import com.courseallocation.course_allocation.repository.SemesterRepository;
 import com.courseallocation.course_allocation.repository.StudentRepository;
+import com.courseallocation.course_allocation.service.EligibilityRuleService.CourseRules;
+import com.courseallocation.course_allocation.service.EligibilityRuleService.StudentSnapshot;
 
 import lombok.RequiredArgsConstructor;
 
@@ -33,89 +38,84 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class StudentPortalService {
 
+    // Matrix mask bits: one per requirement type, followed by the enrollment and seat checks
+    private static final int ALREADY_ENROLLED_BIT = RequirementType.values().length;
+    private static final int COURSE_FULL_BIT = ALREADY_ENROLLED_BIT + 1;
+    private static final List<String> MATRIX_CHECKS = buildMatrixChecks();
+
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final SemesterRepository semesterRepository;
-    private final CourseRequirementRepository courseRequirementRepository;
+    private final EligibilityRuleService eligibilityRuleService;
     private final CourseService courseService;
+    private final SeatLedgerService seatLedgerService;
 
-    public List<CourseResponse> getAvailableCourses(Long studentId, Long semesterId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-
-        List<Course> courses;
+    public List<CourseResponse> getAvailableCourses(Long semesterId) {
         if (semesterId != null) {
-            courses = courseRepository.findBySemesterId(semesterId);
-        } else {
-            // Get active semester courses
-            Semester activeSemester = semesterRepository.findAll().stream()
-                    .filter(s -> s.getIsActive())
-                    .findFirst()
-                    .orElse(null);
-            
-            if (activeSemester != null) {
-                courses = courseRepository.findBySemesterId(activeSemester.getId());
-            } else {
-                courses = courseRepository.findAll();
-            }
+            return courseService.getCoursesBySemesterId(semesterId);
         }
 
-        return courses.stream()
-                .map(course -> courseService.getCourseById(course.getId()))
-                .collect(Collectors.toList());
+        // Get active semester courses
+        Semester activeSemester = semesterRepository.findAll().stream()
+                .filter(s -> s.getIsActive())
+                .findFirst()
+                .orElse(null);
+
+        if (activeSemester != null) {
+            return courseService.getCoursesBySemesterId(activeSemester.getId());
+        }
+        return courseService.getAllCourses();
     }
 
-    public CourseEligibilityResponse checkCourseEligibility(Long studentId, Long courseId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
+    @Transactional(readOnly = true)
+    public CourseEligibilityResponse checkCourseEligibility(StudentPrincipal principal, Long courseId) {
+        CourseResponse course = courseService.getCourseById(courseId);
+        return evaluateEligibility(snapshot(principal), course,
+                eligibilityRuleService.getRules(courseId));
+    }
 
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+    // Course, requirements and eligibility come from per-course caches; only the student's history is queried
+    @Transactional(readOnly = true)
+    public CourseDetailsResponse getCourseDetails(StudentPrincipal principal, Long courseId) {
+        CourseResponse course = courseService.getCourseById(courseId);
+        CourseRules rules = eligibilityRuleService.getRules(courseId);
+        CourseEligibilityResponse eligibility = evaluateEligibility(snapshot(principal), course, rules);
+        return new CourseDetailsResponse(course, rules.getRequirements(), eligibility);
+    }
+
+    // Standing comes from the token; tokens issued before it was carried fall back to the student row
+    private StudentSnapshot snapshot(StudentPrincipal principal) {
+        if (principal.hasStanding()) {
+            return eligibilityRuleService.snapshot(principal);
+        }
+        Student student = studentRepository.findById(principal.studentId())
+                .orElseThrow(() -> new RuntimeException("Student not found"));
+        return eligibilityRuleService.snapshot(student);
+    }
 
+    private CourseEligibilityResponse evaluateEligibility(StudentSnapshot snapshot, CourseResponse course,
+            CourseRules rules) {
         List<String> unmetRequirements = new ArrayList<>();
         boolean isEligible = true;
 
         // Check if already enrolled
-        boolean alreadyEnrolled = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId).isPresent();
+        boolean alreadyEnrolled = snapshot.hasEnrollment(course.getId());
         if (alreadyEnrolled) {
             unmetRequirements.add("Already enrolled in this course");
             isEligible = false;
         }
 
         // Check available seats
-        long currentEnrollment = enrollmentRepository.countByCourseId(courseId);
-        boolean hasAvailableSeats = currentEnrollment < course.getMaxCapacity();
+        boolean hasAvailableSeats = course.getCurrentEnrollment() < course.getMaxCapacity();
         if (!hasAvailableSeats) {
             unmetRequirements.add("Course is full (capacity: " + course.getMaxCapacity() + ")");
             isEligible = false;
         }
 
-        // Check prerequisites
-        List<CourseRequirement> requirements = courseRequirementRepository.findByCourseId(courseId);
-        boolean meetsPrerequisites = checkPrerequisites(student, requirements, unmetRequirements);
-        
-        // Check GPA requirement
-        boolean meetsGPA = true;
-        for (CourseRequirement req : requirements) {
-            if (req.getMinGPA() != null && student.getCurrentGPA() < req.getMinGPA()) {
-                unmetRequirements.add("Minimum GPA required: " + req.getMinGPA() + " (Current: " + student.getCurrentGPA() + ")");
-                meetsGPA = false;
-                isEligible = false;
-            }
-        }
-
-        // Check year requirement
-        boolean meetsYear = true;
-        for (CourseRequirement req : requirements) {
-            if (req.getRequiredYear() != null && student.getYearOfStudy() < req.getRequiredYear()) {
-                unmetRequirements.add("Minimum year required: " + req.getRequiredYear() + " (Current: " + student.getYearOfStudy() + ")");
-                meetsYear = false;
-                isEligible = false;
-            }
-        }
-
-        isEligible = isEligible && meetsPrerequisites;
+        // Check course requirements
+        int failed = rules.evaluate(snapshot, unmetRequirements);
+        isEligible = isEligible && failed == 0;
 
         String message = isEligible ? "You are eligible to enroll in this course" : 
                 "You do not meet the requirements for this course";
@@ -123,37 +123,66 @@ public class StudentPortalService {
         return new CourseEligibilityResponse(
                 isEligible,
                 message,
-                !requirements.isEmpty(),
-                meetsGPA,
-                meetsYear,
+                rules.hasRequirements(),
+                !CourseRules.failed(failed, RequirementType.GPA),
+                !CourseRules.failed(failed, RequirementType.YEAR),
                 hasAvailableSeats,
                 alreadyEnrolled,
                 unmetRequirements
         );
     }
 
-    private boolean checkPrerequisites(Student student, List<CourseRequirement> requirements, List<String> unmetRequirements) {
-        boolean meetsAll = true;
-
-        for (CourseRequirement req : requirements) {
-            if (req.getPrerequisiteCourse() != null) {
-                // Check if student has completed the prerequisite
-                boolean hasCompleted = enrollmentRepository
-                        .findByStudentIdAndCourseId(student.getId(), req.getPrerequisiteCourse().getId())
-                        .map(enrollment -> enrollment.getStatus() == EnrollmentStatus.COMPLETED)
-                        .orElse(false);
-
-                if (!hasCompleted) {
-                    unmetRequirements.add("Prerequisite required: " + req.getPrerequisiteCourse().getCourseCode() + 
-                            " - " + req.getPrerequisiteCourse().getTitle());
-                    meetsAll = false;
-                }
+    @Transactional(readOnly = true)
+    public EligibilityMatrixResponse getEligibilityMatrix(StudentPrincipal principal, Long semesterId) {
+        if (semesterId == null) {
+            semesterId = semesterRepository.findAll().stream()
+                    .filter(s -> s.getIsActive())
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("No active semester found"))
+                    .getId();
+        }
+
+        List<Long> courseIds = courseRepository.findIdsBySemesterId(semesterId);
+        int size = courseIds.size();
+        StudentSnapshot snapshot = snapshot(principal);
+        CourseRules[] rules = eligibilityRuleService.getRules(courseIds);
+
+        long[] ids = courseIds.stream().mapToLong(Long::longValue).toArray();
+        int[] availableSeats = seatLedgerService.getAvailableSeats(ids);
+        int[] failed = new int[size];
+
+        IntStream.range(0, size).parallel().forEach(i -> {
+            int mask = rules[i].evaluate(snapshot, null);
+            if (availableSeats[i] == 0) {
+                mask |= 1 << COURSE_FULL_BIT;
+            }
+            if (snapshot.hasEnrollment(ids[i])) {
+                mask |= 1 << ALREADY_ENROLLED_BIT;
+            }
+            failed[i] = mask;
+        });
+
+        int eligible = 0;
+        for (int mask : failed) {
+            if (mask == 0) {
+                eligible++;
             }
         }
 
-        return meetsAll;
+        return new EligibilityMatrixResponse(semesterId, MATRIX_CHECKS, ids, failed, eligible);
     }
 
+    private static List<String> buildMatrixChecks() {
+        List<String> checks = new ArrayList<>();
+        for (RequirementType type : RequirementType.values()) {
+            checks.add(type.name());
+        }
+        checks.add("ALREADY_ENROLLED");
+        checks.add("COURSE_FULL");
+        return List.copyOf(checks);
+    }
+
+    // The transcript is the record of name and standing, so it reads the student row rather than the token
     @Transactional(readOnly = true)
     public TranscriptResponse getTranscript(Long studentId) {
         Student student = studentRepository.findById(studentId)
@@ -190,9 +219,8 @@ public class StudentPortalService {
     }
 
     @Transactional(readOnly = true)
-    public ScheduleResponse getCurrentSchedule(Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
+    public ScheduleResponse getCurrentSchedule(StudentPrincipal principal) {
+        Long studentId = principal.studentId();
 
         // Get active semester
         Semester activeSemester = semesterRepository.findAll().stream()
@@ -228,7 +256,7 @@ public class StudentPortalService {
                 .sum();
 
         return new ScheduleResponse(
-                student.getStudentId(),
+                principal.studentIdNumber(),
                 activeSemester.getSemesterCode(),
                 courses,
                 totalCredits,
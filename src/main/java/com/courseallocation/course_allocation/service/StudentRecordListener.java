@@ -0,0 +1,36 @@
+package com.courseallocation.course_allocation.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.courseallocation.course_allocation.model.Enrollment;
+import com.courseallocation.course_allocation.model.Student;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+// Moves the student's resource version whenever the student or one of their enrollments is written
+@Component
+@RequiredArgsConstructor
+public class StudentRecordListener {
+
+    // Resolved lazily: entity listeners are created while the EntityManagerFactory is still being built
+    private final ObjectProvider<ResourceVersionService> resourceVersionService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void recordChanged(Object entity) {
+        Long studentId = null;
+        if (entity instanceof Student student) {
+            studentId = student.getId();
+        } else if (entity instanceof Enrollment enrollment && enrollment.getStudent() != null) {
+            studentId = enrollment.getStudent().getId();
+        }
+        if (studentId != null) {
+            resourceVersionService.getObject().studentChanged(studentId);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.courseallocation.course_allocation.dto.PageResponse;
 import com.courseallocation.course_allocation.dto.StudentRequest;
 import com.courseallocation.course_allocation.dto.StudentResponse;
 import com.courseallocation.course_allocation.model.Student;
@@ -23,8 +24,11 @@ import lombok.RequiredArgsConstructor;
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final PaginationService paginationService;
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final CredentialService credentialService;
 
     public StudentResponse createStudent(StudentRequest request) {
         if (studentRepository.existsByStudentId(request.getStudentId())) {
@@ -37,13 +41,15 @@ public class StudentService {
             throw new RuntimeException("Username " + request.getStudentId() + " already exists");
         }
 
+        String pinHash = credentialService.hash(request.getPin());
+
         // Create User entity first
         User user = new User();
         user.setUsername(request.getStudentId());
         user.setEmail(request.getEmail());
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
-        user.setPassword(request.getPin()); // TODO: Add password encoding
+        user.setPassword(pinHash);
         user.setRole(UserRole.STUDENT);
         user.setIsActive(true);
 
@@ -62,7 +68,7 @@ public class StudentService {
         student.setProgram(request.getProgram() != null ? request.getProgram() : "General");
         student.setYearOfStudy(request.getYear() != null ? request.getYear() : 1);
         student.setCreditsCompleted(0);
-        student.setPin(request.getPin()); // TODO: Add password encoding
+        student.setPin(pinHash);
 
         Student saved = studentRepository.save(student);
         return mapToResponse(saved);
@@ -80,10 +86,12 @@ public class StudentService {
         return mapToResponse(student);
     }
 
-    public List<StudentResponse> getAllStudents() {
-        return studentRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResponse<StudentResponse> getAllStudents(String cursor, Integer size) {
+        int pageSize = paginationService.pageSize(size);
+        List<Student> students = studentRepository.findByIdGreaterThanOrderByIdAsc(
+                paginationService.afterId(cursor), paginationService.fetchLimit(pageSize));
+        return paginationService.toPage(students, pageSize, Student::getId, this::mapToResponse);
     }
 
     public List<StudentResponse> getStudentsByProgram(String program) {
@@ -135,9 +143,11 @@ public class StudentService {
             student.setYearOfStudy(request.getYear());
         }
         if (request.getPin() != null && !request.getPin().isEmpty()) {
-            student.setPin(request.getPin()); // TODO: Add password encoding
-            user.setPassword(request.getPin()); // TODO: Add password encoding
+            String pinHash = credentialService.hash(request.getPin());
+            student.setPin(pinHash);
+            user.setPassword(pinHash);
             userRepository.save(user);
+            tokenRevocationService.revokeStudent(id);
         }
 
         Student updated = studentRepository.save(student);
@@ -152,7 +162,7 @@ public class StudentService {
         studentRepository.delete(student);
     }
 
-    private StudentResponse mapToResponse(Student student) {
+    StudentResponse mapToResponse(Student student) {
         User user = student.getUser();
         return new StudentResponse(
                 student.getId(),
@@ -0,0 +1,249 @@
+package com.courseallocation.course_allocation.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.courseallocation.course_allocation.config.StudentPrincipal;
+import com.courseallocation.course_allocation.config.VerifiedTokenCache;
+import com.courseallocation.course_allocation.model.RevokedToken;
+import com.courseallocation.course_allocation.repository.RevokedTokenRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token deny list persisted in {@code revoked_tokens} and fronted on every node by in-memory state, so the
+ * per-request check never reaches the database for a token that was not revoked. Single tokens (logout) go into
+ * a Bloom filter over their jti; only a filter hit is confirmed against the table. Student-wide revocations
+ * (PIN change, admin force-logout) are few and are held exactly as a per-student cut-off time. Each node polls
+ * the table for rows written by other nodes and periodically rebuilds the filter to shed expired entries.
+ */
+@Slf4j
+@Service
+@Transactional
+public class TokenRevocationService {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    // Re-read window behind each poll, covering rows that commit late and modest clock skew between nodes
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final long tokenLifetimeMillis;
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final long syncIntervalMillis;
+    private final long rebuildIntervalMillis;
+
+    private volatile BloomFilter filter;
+    // Tokens of a student issued before this epoch second are revoked
+    private final Map<Long, Long> studentCutoffs = new ConcurrentHashMap<>();
+    private LocalDateTime lastPoll;
+    private final ScheduledExecutorService sync = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-revocation-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+            VerifiedTokenCache verifiedTokenCache,
+            @Value("${jwt.expiration}") long tokenLifetimeMillis,
+            @Value("${revocation.expected-tokens:100000}") int expectedTokens,
+            @Value("${revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${revocation.sync-interval-ms:5000}") long syncIntervalMillis,
+            @Value("${revocation.rebuild-interval-minutes:60}") long rebuildIntervalMinutes) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.rebuildIntervalMillis = TimeUnit.MINUTES.toMillis(rebuildIntervalMinutes);
+        this.filter = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+        sync.scheduleWithFixedDelay(this::pollSafely, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        sync.scheduleWithFixedDelay(this::rebuildSafely, rebuildIntervalMillis, rebuildIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sync.shutdownNow();
+    }
+
+    /**
+     * O(1) for every token that was never revoked; a table lookup happens only when the Bloom filter reports
+     * the token id, which for a non-revoked token is a false positive at the configured rate.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isRevoked(StudentPrincipal principal) {
+        Long cutoff = studentCutoffs.get(principal.studentId());
+        if (cutoff != null && principal.issuedAt().getEpochSecond() < cutoff) {
+            return true;
+        }
+        String tokenId = principal.tokenId();
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsByTokenId(tokenId);
+    }
+
+    // Logout: revokes only the presented token. Tokens issued before jti existed can only be revoked per student.
+    public void revokeToken(StudentPrincipal principal, String token) {
+        if (principal.tokenId() == null) {
+            revokeStudent(principal.studentId());
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(principal.issuedAt().plusMillis(tokenLifetimeMillis), ZONE);
+        revokedTokenRepository.save(new RevokedToken(null, principal.tokenId(), principal.studentId(), now, expiresAt));
+        String tokenId = principal.tokenId();
+        TransactionCallbacks.afterCommit(() -> {
+            filter.put(tokenId);
+            verifiedTokenCache.evict(token);
+        });
+    }
+
+    /**
+     * Revokes every token of the student issued before now. Token issue times have second precision, so a token
+     * issued within the same second as the revocation stays valid.
+     */
+    public void revokeStudent(Long studentId) {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.save(new RevokedToken(null, null, studentId, now,
+                now.plus(Duration.ofMillis(tokenLifetimeMillis))));
+        long cutoff = toEpochSecond(now);
+        TransactionCallbacks.afterCommit(() -> {
+            studentCutoffs.merge(studentId, cutoff, Math::max);
+            verifiedTokenCache.evictStudent(studentId);
+        });
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Revocation sync failed", e);
+        }
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Revocation filter rebuild failed", e);
+        }
+    }
+
+    // Picks up rows written by other nodes since the last poll; re-applying a row is harmless
+    private synchronized void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        apply(revokedTokenRepository.findActiveRevokedSince(lastPoll.minus(POLL_OVERLAP), now), filter);
+        lastPoll = now;
+    }
+
+    // Drops expired rows and starts a fresh filter sized for what is left, so false positives do not accumulate
+    private synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<Object[]> rows = revokedTokenRepository.findActive(now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, rows.size() * 2), falsePositiveRate);
+        long oldestLiveIssue = toEpochSecond(now) - TimeUnit.MILLISECONDS.toSeconds(tokenLifetimeMillis);
+        studentCutoffs.values().removeIf(cutoff -> cutoff <= oldestLiveIssue);
+        apply(rows, rebuilt);
+        filter = rebuilt;
+        lastPoll = now;
+        if (purged > 0) {
+            log.info("Purged {} expired revocations, {} active", purged, rows.size());
+        }
+    }
+
+    private void apply(List<Object[]> rows, BloomFilter target) {
+        for (Object[] row : rows) {
+            String tokenId = (String) row[0];
+            if (tokenId != null) {
+                target.put(tokenId);
+            } else {
+                studentCutoffs.merge((Long) row[1], toEpochSecond((LocalDateTime) row[2]), Math::max);
+            }
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.atZone(ZONE).toEpochSecond();
+    }
+
+    /**
+     * Fixed-size Bloom filter over strings. Bits are set with CAS, so adds never block readers. Probe positions
+     * come from two independent 64-bit hashes combined as h1 + i * h2.
+     */
+    static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            int n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((m + 63) / 64));
+            this.bits = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        }
+
+        void put(String key) {
+            long h1 = hash(key, 0x9E3779B97F4A7C15L);
+            long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h1 = hash(key, 0x9E3779B97F4A7C15L);
+            long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-style accumulation finished with the SplitMix64 mixer
+        private static long hash(String key, long seed) {
+            long h = seed;
+            for (int i = 0; i < key.length(); i++) {
+                h = (h ^ key.charAt(i)) * 0x100000001B3L;
+            }
+            h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+            return h ^ (h >>> 31);
+        }
+    }
+}
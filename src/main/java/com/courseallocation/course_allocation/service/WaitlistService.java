@@ -0,0 +1,255 @@
+package com.courseallocation.course_allocation.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.courseallocation.course_allocation.model.enums.AuditAction;
+import com.courseallocation.course_allocation.model.enums.RequestStatus;
+import com.courseallocation.course_allocation.repository.CourseRepository;
+import com.courseallocation.course_allocation.repository.EnrollmentRepository;
+import com.courseallocation.course_allocation.repository.EnrollmentRequestRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ordered per-course waitlists backed by the WAITLISTED enrollment requests. Freed seats are reported
+ * after the freeing transaction commits and filled from the head of the queue by a single background
+ * promoter, a batch of requests per transaction.
+ */
+@Slf4j
+@Service
+public class WaitlistService {
+
+    // Highest priority first, earliest request breaks ties
+    private static final Comparator<Entry> QUEUE_ORDER = Comparator.comparingInt(Entry::priority).reversed()
+            .thenComparingLong(Entry::requestedAt)
+            .thenComparingLong(Entry::requestId);
+
+    private final EnrollmentRequestRepository enrollmentRequestRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final SeatLedgerService seatLedgerService;
+    private final ResourceVersionService resourceVersionService;
+    private final AuditService auditService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Map<Long, NavigableSet<Entry>> queues = new ConcurrentHashMap<>();
+    private final Set<Long> coursesWithFreedSeats = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean promotionScheduled = new AtomicBoolean(false);
+    private final ExecutorService promoter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "waitlist-promoter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WaitlistService(EnrollmentRequestRepository enrollmentRequestRepository,
+            EnrollmentRepository enrollmentRepository,
+            CourseRepository courseRepository,
+            SeatLedgerService seatLedgerService,
+            ResourceVersionService resourceVersionService,
+            AuditService auditService,
+            PlatformTransactionManager transactionManager,
+            @Value("${waitlist.promotion-batch-size:100}") int batchSize) {
+        this.enrollmentRequestRepository = enrollmentRequestRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseRepository = courseRepository;
+        this.seatLedgerService = seatLedgerService;
+        this.resourceVersionService = resourceVersionService;
+        this.auditService = auditService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (Object[] row : enrollmentRequestRepository.findQueueEntriesByStatus(RequestStatus.WAITLISTED)) {
+            queueFor((Long) row[1]).add(toEntry(row));
+        }
+        queues.keySet().forEach(this::seatsFreed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        promoter.shutdownNow();
+    }
+
+    public int getWaitlistSize(Long courseId) {
+        NavigableSet<Entry> queue = queues.get(courseId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Reports that seats may have opened on a course (drop, capacity raise). Promotion starts only once
+     * the current transaction has committed, so it never runs inside the caller's transaction.
+     */
+    public void seatsFreed(Long courseId) {
+        TransactionCallbacks.afterCommit(() -> {
+            coursesWithFreedSeats.add(courseId);
+            schedulePromotion();
+        });
+    }
+
+    // Re-reads the WAITLISTED requests of the given courses once the current transaction has committed
+    public void refreshAfterCommit(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(courseIds);
+        TransactionCallbacks.afterCommit(() -> promoter.execute(() -> {
+            Map<Long, NavigableSet<Entry>> reloaded = new ConcurrentHashMap<>();
+            for (Object[] row : enrollmentRequestRepository.findQueueEntriesByStatusAndCourseIdIn(
+                    RequestStatus.WAITLISTED, ids)) {
+                reloaded.computeIfAbsent((Long) row[1], k -> new ConcurrentSkipListSet<>(QUEUE_ORDER))
+                        .add(toEntry(row));
+            }
+            for (Long courseId : ids) {
+                NavigableSet<Entry> queue = reloaded.get(courseId);
+                if (queue != null) {
+                    queues.put(courseId, queue);
+                    coursesWithFreedSeats.add(courseId);
+                } else {
+                    queues.remove(courseId);
+                }
+            }
+            schedulePromotion();
+        }));
+    }
+
+    private void schedulePromotion() {
+        if (promotionScheduled.compareAndSet(false, true)) {
+            promoter.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!coursesWithFreedSeats.isEmpty()) {
+                Set<Long> batch = new HashSet<>(coursesWithFreedSeats);
+                coursesWithFreedSeats.removeAll(batch);
+                for (Long courseId : batch) {
+                    promote(courseId);
+                }
+            }
+        } finally {
+            promotionScheduled.set(false);
+        }
+        // A course reported between the last check and the flag reset would otherwise wait for the next drop
+        if (!coursesWithFreedSeats.isEmpty()) {
+            schedulePromotion();
+        }
+    }
+
+    private void promote(Long courseId) {
+        NavigableSet<Entry> queue = queues.get(courseId);
+        while (queue != null && !queue.isEmpty()) {
+            int seats = Math.min(batchSize, seatLedgerService.getAvailableSeats(courseId));
+            if (seats == 0) {
+                return;
+            }
+            List<Entry> heads = new ArrayList<>(seats);
+            while (heads.size() < seats) {
+                Entry head = queue.pollFirst();
+                if (head == null) {
+                    break;
+                }
+                heads.add(head);
+            }
+            try {
+                List<Entry> unused = transactionTemplate.execute(status -> promoteBatch(courseId, heads));
+                queue.addAll(unused);
+                if (!unused.isEmpty()) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("Waitlist promotion failed for course {}", courseId, e);
+                queue.addAll(heads);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the entries that could not be promoted because the seats were taken in the meantime. The in-memory
+     * queue can lag behind the table, so only requests that are still WAITLISTED are touched, and they stay locked
+     * until commit; the others were approved, rejected or cancelled elsewhere and are dropped from the queue.
+     */
+    private List<Entry> promoteBatch(Long courseId, List<Entry> heads) {
+        Set<Long> waitlisted = new HashSet<>(enrollmentRequestRepository.lockWaitlistedByIdIn(
+                heads.stream().map(Entry::requestId).toList()));
+        List<Long> requestIds = heads.stream().map(Entry::requestId).filter(waitlisted::contains).toList();
+        if (requestIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> alreadyEnrolled = enrollmentRequestRepository.findIdsWithExistingEnrollment(requestIds);
+        if (!alreadyEnrolled.isEmpty()) {
+            enrollmentRequestRepository.updateStatusAndReasonByIdIn(alreadyEnrolled, RequestStatus.REJECTED,
+                    "Already enrolled in this course", now);
+            recordTransitions(alreadyEnrolled, RequestStatus.REJECTED);
+        }
+        Set<Long> skipped = new HashSet<>(alreadyEnrolled);
+        List<Entry> candidates = heads.stream()
+                .filter(entry -> waitlisted.contains(entry.requestId()) && !skipped.contains(entry.requestId()))
+                .toList();
+
+        int granted = seatLedgerService.reserveUpTo(courseId, candidates.size());
+        List<Long> promoted = candidates.subList(0, granted).stream().map(Entry::requestId).toList();
+        if (!promoted.isEmpty()) {
+            // A student who enrolled directly since the check above gets no second row and holds no second seat
+            int inserted = enrollmentRepository.insertFromRequests(promoted);
+            seatLedgerService.returnUnused(courseId, promoted.size() - inserted);
+            enrollmentRequestRepository.updateStatusByIdIn(promoted, RequestStatus.APPROVED, now);
+            if (inserted > 0) {
+                courseRepository.adjustEnrollment(courseId, inserted);
+            }
+            resourceVersionService.allStudentsChanged();
+            recordTransitions(promoted, RequestStatus.APPROVED);
+        }
+        return candidates.subList(granted, candidates.size());
+    }
+
+    private void recordTransitions(List<Long> requestIds, RequestStatus status) {
+        for (Long requestId : requestIds) {
+            auditService.record(AuditAction.REQUEST_STATUS_CHANGE, "EnrollmentRequest", requestId,
+                    Map.of("from", RequestStatus.WAITLISTED.name(), "to", status.name(), "promotion", true));
+        }
+    }
+
+    private NavigableSet<Entry> queueFor(Long courseId) {
+        return queues.computeIfAbsent(courseId, k -> new ConcurrentSkipListSet<>(QUEUE_ORDER));
+    }
+
+    private Entry toEntry(Object[] row) {
+        int priority = row[2] != null ? (Integer) row[2] : 0;
+        long requestedAt = ((LocalDateTime) row[3]).toInstant(ZoneOffset.UTC).toEpochMilli();
+        return new Entry((Long) row[0], priority, requestedAt);
+    }
+
+    private record Entry(long requestId, int priority, long requestedAt) {
+    }
+}
@@ -0,0 +1,37 @@
+-- Moves entity ids from IDENTITY columns to pooled sequences so Hibernate can batch inserts.
+-- Run once against an existing database before starting the application on the new mapping;
+-- fresh databases get the same layout from Hibernate and do not need it. Safe to run again.
+--
+-- Existing ids are left as they are. Each identity column becomes a plain bigint backed by a standalone
+-- <table>_id_seq that steps by 50 (the allocationSize of the mappings) and starts past the highest id handed out
+-- so far; Hibernate then reserves a block of 50 ids per nextval.
+
+DO $$
+DECLARE
+    target text;
+    seq text;
+    identity_seq text;
+    last_id bigint;
+BEGIN
+    FOREACH target IN ARRAY ARRAY['departments', 'users', 'students', 'semesters', 'courses', 'course_requirements',
+            'enrollments', 'enrollment_requests', 'audit_logs', 'revoked_tokens'] LOOP
+        IF to_regclass(target) IS NULL THEN
+            CONTINUE;
+        END IF;
+        seq := target || '_id_seq';
+
+        EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', target) INTO last_id;
+
+        identity_seq := pg_get_serial_sequence(target, 'id');
+        IF identity_seq IS NOT NULL THEN
+            EXECUTE format('SELECT GREATEST(%s, last_value) FROM %s', last_id, identity_seq) INTO last_id;
+            -- Dropping the identity drops its sequence as well
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', target);
+        END IF;
+
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50 OWNED BY %I.id', seq, target);
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', seq);
+        -- Never moves a sequence backwards, so ids handed out since a previous run are not reissued
+        EXECUTE format('SELECT setval(%L, GREATEST(%s, (SELECT last_value FROM %I), 1))', seq, last_id, seq);
+    END LOOP;
+END $$;
@@ -0,0 +1,163 @@
+package com.courseallocation.course_allocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.courseallocation.course_allocation.model.AuditLog;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Persists 10k rows in one transaction and reports how many JDBC round trips it took. Needs the database, so it only
+ * runs when asked for: {@code mvn test -Dtest=BatchInsertMeasurementTest -Dmeasure.batch-inserts=true}. The
+ * transaction is rolled back, so no rows are left behind; only sequence values are used up.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@EnabledIfSystemProperty(named = "measure.batch-inserts", matches = "true")
+class BatchInsertMeasurementTest {
+
+    private static final int ROWS = 10_000;
+    private static final int ALLOCATION_SIZE = 50;
+
+    // Hibernate prepares a batched insert once and reuses it, so neither its statistics nor a StatementInspector
+    // can tell how many batches ran. The data source counts each execution of an audit log insert instead
+    private static final AtomicInteger INSERT_EXECUTIONS = new AtomicInteger();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void insertsAreBatchedAndIdsArePooled() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long sequenceBefore = lastSequenceValue();
+        statistics.clear();
+        INSERT_EXECUTIONS.set(0);
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                AuditLog log = new AuditLog();
+                log.setAction("BATCH_MEASUREMENT");
+                log.setEntityType("AuditLog");
+                log.setEntityId((long) i);
+                entityManager.persist(log);
+            }
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        int insertBatches = INSERT_EXECUTIONS.get();
+        long sequenceCalls = (lastSequenceValue() - sequenceBefore) / ALLOCATION_SIZE;
+        System.out.printf("%d rows: %d insert batches, %d sequence calls, %d ms%n",
+                ROWS, insertBatches, sequenceCalls, millis);
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        // One batch and one sequence call per 50 rows, where IDENTITY would need a statement per row
+        assertTrue(insertBatches <= ROWS / ALLOCATION_SIZE + 1, "insert batches: " + insertBatches);
+        assertTrue(sequenceCalls <= ROWS / ALLOCATION_SIZE + 1, "sequence calls: " + sequenceCalls);
+    }
+
+    private long lastSequenceValue() {
+        return transactionTemplate.execute(status -> ((Number) entityManager
+                .createNativeQuery("SELECT last_value FROM audit_logs_id_seq")
+                .getSingleResult()).longValue());
+    }
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)
+                            ? new CountingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countInserts(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countInserts(super.getConnection(username, password));
+        }
+
+        private static Connection countInserts(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && isAuditLogInsert((String) args[0])) {
+                    return proxy(PreparedStatement.class, (statementProxy, statementMethod, statementArgs) -> {
+                        if (statementMethod.getName().startsWith("execute")) {
+                            INSERT_EXECUTIONS.incrementAndGet();
+                        }
+                        return invoke(result, statementMethod, statementArgs);
+                    });
+                }
+                return result;
+            });
+        }
+
+        private static boolean isAuditLogInsert(String sql) {
+            return sql.stripLeading().regionMatches(true, 0, "insert into audit_logs", 0, 22);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+        }
+    }
+}
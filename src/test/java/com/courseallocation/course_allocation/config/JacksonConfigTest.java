@@ -0,0 +1,108 @@
+package com.courseallocation.course_allocation.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.courseallocation.course_allocation.dto.ApiResponse;
+import com.courseallocation.course_allocation.dto.CourseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Payload shape and size of a course listing in each negotiated format. Serialization times depend on the machine,
+ * so they are only measured and printed on request:
+ * {@code mvn test -Dtest=JacksonConfigTest -Dmeasure.serialization=true}.
+ */
+class JacksonConfigTest {
+
+    private static final int COURSES = 500;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    private final JacksonConfig config = new JacksonConfig();
+    private final ObjectMapper json = new Jackson2ObjectMapperBuilder().build();
+    private final ObjectMapper cbor = config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+    private final ObjectMapper smile = config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+    @Test
+    void binaryFormatsKeepTheJsonShape() throws Exception {
+        ApiResponse<List<CourseResponse>> payload = coursePage();
+        byte[] jsonBytes = json.writeValueAsBytes(payload);
+
+        assertEquals(json.readTree(jsonBytes), cbor.readTree(cbor.writeValueAsBytes(payload)));
+        assertEquals(json.readTree(jsonBytes), smile.readTree(smile.writeValueAsBytes(payload)));
+    }
+
+    @Test
+    void binaryFormatsAreSmaller() throws Exception {
+        ApiResponse<List<CourseResponse>> payload = coursePage();
+
+        int jsonSize = json.writeValueAsBytes(payload).length;
+        int cborSize = cbor.writeValueAsBytes(payload).length;
+        int smileSize = smile.writeValueAsBytes(payload).length;
+        assertTrue(cborSize < jsonSize, "CBOR " + cborSize + " vs JSON " + jsonSize);
+        assertTrue(smileSize < jsonSize, "Smile " + smileSize + " vs JSON " + jsonSize);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "measure.serialization", matches = "true")
+    void reportSizesAndSerializationTimes() throws Exception {
+        ApiResponse<List<CourseResponse>> payload = coursePage();
+        int jsonSize = json.writeValueAsBytes(payload).length;
+        int cborSize = cbor.writeValueAsBytes(payload).length;
+        int smileSize = smile.writeValueAsBytes(payload).length;
+
+        System.out.printf("%d courses: JSON %d B %.1f us, CBOR %d B %.1f us, Smile %d B %.1f us%n", COURSES,
+                jsonSize, microsPerWrite(json, payload), cborSize, microsPerWrite(cbor, payload),
+                smileSize, microsPerWrite(smile, payload));
+    }
+
+    private static double microsPerWrite(ObjectMapper mapper, Object payload) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += mapper.writeValueAsBytes(payload).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += mapper.writeValueAsBytes(payload).length;
+        }
+        double micros = (System.nanoTime() - start) / 1000.0 / MEASURED_ROUNDS;
+        assertTrue(sink > 0);
+        return micros;
+    }
+
+    private static ApiResponse<List<CourseResponse>> coursePage() {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 15, 9, 30);
+        List<CourseResponse> courses = new ArrayList<>(COURSES);
+        for (int i = 1; i <= COURSES; i++) {
+            CourseResponse course = new CourseResponse();
+            course.setId((long) i);
+            course.setCourseCode("CS" + (100 + i));
+            course.setTitle("Course " + i + " in Computer Science");
+            course.setDescription("Lectures, labs and a final project covering topic " + i);
+            course.setLevel(100 * (1 + i % 4));
+            course.setCredits(3);
+            course.setMaxCapacity(60);
+            course.setCurrentEnrollment(i % 60);
+            course.setDepartmentCode("CS");
+            course.setDepartmentName("Computer Science");
+            course.setAssignedLecturerId((long) (i % 40));
+            course.setLecturerName("Lecturer " + (i % 40));
+            course.setSemesterId(1L);
+            course.setSemesterCode("2026S1");
+            course.setAcademicYear("2025/2026");
+            course.setStatus("ACTIVE");
+            course.setCreatedAt(created);
+            course.setUpdatedAt(created.plusDays(i % 30));
+            courses.add(course);
+        }
+        return new ApiResponse<>(true, "Courses retrieved successfully", courses);
+    }
+}
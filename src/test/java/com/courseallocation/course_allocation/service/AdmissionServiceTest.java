@@ -0,0 +1,96 @@
+package com.courseallocation.course_allocation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.courseallocation.course_allocation.dto.AdmissionTicketResponse;
+
+class AdmissionServiceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void ticketAdmitsOnlyItsStudentAndIsSpentOnUse() {
+        AdmissionService service = service(1000, 10);
+        String ticket = service.issueTicket(1L).getTicket();
+        advanceMillis(1);
+
+        assertFalse(service.isAdmitted(ticket, 2L));
+        assertTrue(service.isAdmitted(ticket, 1L));
+        assertTrue(service.consume(ticket));
+
+        assertFalse(service.consume(ticket));
+        assertFalse(service.isAdmitted(ticket, 1L));
+    }
+
+    @Test
+    void ticketStatusIsOnlyVisibleToItsStudent() {
+        AdmissionService service = service(1000, 10);
+        String ticket = service.issueTicket(1L).getTicket();
+
+        AdmissionTicketResponse status = service.getTicketStatus(ticket, 1L);
+        assertEquals(ticket, status.getTicket());
+        assertThrows(RuntimeException.class, () -> service.getTicketStatus(ticket, 2L));
+    }
+
+    @Test
+    void ticketsAreAdmittedInIssueOrder() {
+        // One admission every 100 ms
+        AdmissionService service = service(10, 10);
+        String first = service.issueTicket(1L).getTicket();
+        String second = service.issueTicket(2L).getTicket();
+        String third = service.issueTicket(3L).getTicket();
+        assertFalse(service.isQueueEmpty());
+
+        advanceMillis(150);
+        assertTrue(service.isAdmitted(first, 1L));
+        assertFalse(service.isAdmitted(second, 2L));
+        assertFalse(service.isAdmitted(third, 3L));
+
+        advanceMillis(100);
+        assertTrue(service.isAdmitted(second, 2L));
+        assertFalse(service.isAdmitted(third, 3L));
+
+        advanceMillis(100);
+        assertTrue(service.isAdmitted(third, 3L));
+        assertTrue(service.isQueueEmpty());
+    }
+
+    @Test
+    void admittedTicketExpiresAfterItsTtl() {
+        AdmissionService service = service(1000, 10);
+        String ticket = service.issueTicket(1L).getTicket();
+        advanceMillis(1);
+        assertTrue(service.isAdmitted(ticket, 1L));
+
+        advanceMillis(TimeUnit.SECONDS.toMillis(120) + 1);
+        assertFalse(service.isAdmitted(ticket, 1L));
+    }
+
+    @Test
+    void permitsBoundConcurrentRequests() {
+        AdmissionService service = service(1000, 2);
+
+        assertTrue(service.acquire());
+        assertTrue(service.acquire());
+        assertFalse(service.acquire());
+
+        service.release();
+        assertTrue(service.acquire());
+    }
+
+    private AdmissionService service(int ratePerSecond, int maxConcurrent) {
+        return new AdmissionService(ratePerSecond, maxConcurrent, 0, 120, clock::get);
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,99 @@
+package com.courseallocation.course_allocation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AuditServiceTest {
+
+    @Test
+    void ringBufferCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(128, new AuditService.RingBuffer<Integer>(100).capacity());
+        assertEquals(64, new AuditService.RingBuffer<Integer>(64).capacity());
+    }
+
+    @Test
+    void ringBufferRejectsWhenFullAndPollsInOrder() {
+        AuditService.RingBuffer<Integer> buffer = new AuditService.RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        // Slots are reusable on the next lap
+        assertTrue(buffer.offer(5));
+        assertEquals(5, buffer.poll());
+    }
+
+    @Test
+    void ringBufferLosesAndDuplicatesNothingUnderConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 25_000;
+        // Small enough that producers keep wrapping around and finding it full
+        AuditService.RingBuffer<Integer> buffer = new AuditService.RingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            boolean[] seen = new boolean[producers * perProducer];
+            int[] lastPerProducer = new int[producers];
+            Arrays.fill(lastPerProducer, -1);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            int received = 0;
+            while (received < seen.length) {
+                Integer value = buffer.poll();
+                if (value == null) {
+                    assertTrue(System.nanoTime() < deadline, "timed out after " + received + " events");
+                    Thread.yield();
+                    continue;
+                }
+                assertFalse(seen[value], "duplicate " + value);
+                seen[value] = true;
+                // Each producer's events come out in the order it offered them
+                int producer = value / perProducer;
+                assertTrue(value % perProducer > lastPerProducer[producer], "out of order " + value);
+                lastPerProducer[producer] = value % perProducer;
+                received++;
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+
+            assertNull(buffer.poll());
+            assertEquals(0, buffer.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.courseallocation.course_allocation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.courseallocation.course_allocation.dto.RateLimitStatsResponse;
+
+class RateLimitServiceTest {
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        RateLimitService.Policy policy = service(100, 5, 1).login();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, policy.tryAcquire("a"));
+        }
+        long wait = policy.tryAcquire("a");
+
+        assertTrue(wait > 0 && wait <= TimeUnit.MINUTES.toNanos(1), "wait: " + wait);
+        // Buckets are per key
+        assertEquals(0, policy.tryAcquire("b"));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() throws InterruptedException {
+        // One token every 100 ms
+        RateLimitService.Policy policy = service(100, 1, 600).login();
+
+        assertEquals(0, policy.tryAcquire("a"));
+        assertTrue(policy.tryAcquire("a") > 0);
+        Thread.sleep(150);
+        assertEquals(0, policy.tryAcquire("a"));
+    }
+
+    @Test
+    void newCallersAreLetThroughUntrackedWhenEveryBucketIsDraining() {
+        RateLimitService service = service(2, 1, 1);
+        RateLimitService.Policy policy = service.login();
+        policy.tryAcquire("a");
+        policy.tryAcquire("b");
+
+        assertEquals(0, policy.tryAcquire("c"));
+        assertEquals(0, policy.tryAcquire("c"));
+
+        RateLimitStatsResponse stats = loginStats(service);
+        assertEquals(2, stats.getTrackedKeys());
+        assertEquals(2, stats.getOverflowed());
+        // Tracked callers stay limited
+        assertTrue(policy.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void sweepDropsRefilledBucketsWhichThenStartFull() throws InterruptedException {
+        RateLimitService service = service(2, 1, 60_000);
+        RateLimitService.Policy policy = service.login();
+        policy.tryAcquire("a");
+        policy.tryAcquire("b");
+        // Past the minimum interval between sweeps, and long enough for both buckets to refill
+        Thread.sleep(1100);
+
+        assertEquals(0, policy.tryAcquire("c"));
+
+        RateLimitStatsResponse stats = loginStats(service);
+        assertEquals(1, stats.getTrackedKeys());
+        assertEquals(0, stats.getOverflowed());
+        assertEquals(0, policy.tryAcquire("a"));
+    }
+
+    @Test
+    void concurrentCallersOnOneKeyShareItsCapacity() throws Exception {
+        RateLimitService.Policy policy = service(100, 100, 1).login();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (policy.tryAcquire("shared") == 0) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(100, allowed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static RateLimitService service(int maxKeys, int capacity, double refillPerMinute) {
+        return new RateLimitService(maxKeys, capacity, refillPerMinute, capacity, refillPerMinute);
+    }
+
+    private static RateLimitStatsResponse loginStats(RateLimitService service) {
+        return service.getStats().get(0);
+    }
+}
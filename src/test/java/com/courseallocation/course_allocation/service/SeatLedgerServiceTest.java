@@ -0,0 +1,211 @@
+package com.courseallocation.course_allocation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.courseallocation.course_allocation.repository.CourseRepository;
+
+class SeatLedgerServiceTest {
+
+    private static final Long COURSE_ID = 1L;
+    private static final int THREADS = 8;
+
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final SeatLedgerService ledger = new SeatLedgerService(courseRepository);
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentTryReserveNeverExceedsCapacity() throws Exception {
+        givenCourse(50, 0);
+        when(courseRepository.incrementEnrollmentIfAvailable(COURSE_ID)).thenReturn(1);
+
+        int reserved = sumAcrossThreads(() -> {
+            int taken = 0;
+            for (int i = 0; i < 200; i++) {
+                if (ledger.tryReserve(COURSE_ID)) {
+                    taken++;
+                }
+            }
+            return taken;
+        });
+
+        assertEquals(50, reserved);
+        assertEquals(50, ledger.getEnrolledCount(COURSE_ID));
+        assertEquals(0, ledger.getAvailableSeats(COURSE_ID));
+    }
+
+    @Test
+    void concurrentReserveUpToNeverExceedsCapacity() throws Exception {
+        givenCourse(100, 10);
+
+        int reserved = sumAcrossThreads(() -> {
+            int taken = 0;
+            int granted;
+            while ((granted = ledger.reserveUpTo(COURSE_ID, 3)) > 0) {
+                taken += granted;
+            }
+            return taken;
+        });
+
+        assertEquals(90, reserved);
+        assertEquals(100, ledger.getEnrolledCount(COURSE_ID));
+    }
+
+    @Test
+    void rollbackHandsBackEverySeatTaken() {
+        givenCourse(10, 2);
+        when(courseRepository.incrementEnrollmentIfAvailable(COURSE_ID)).thenReturn(1);
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            ledger.tryReserve(COURSE_ID);
+            ledger.reserveUpTo(COURSE_ID, 5);
+            ledger.forceReserve(COURSE_ID);
+            assertEquals(9, ledger.getEnrolledCount(COURSE_ID));
+        });
+
+        assertEquals(2, ledger.getEnrolledCount(COURSE_ID));
+    }
+
+    @Test
+    void rollbackRestoresReleasedSeat() {
+        givenCourse(10, 2);
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> ledger.release(COURSE_ID));
+
+        assertEquals(2, ledger.getEnrolledCount(COURSE_ID));
+    }
+
+    @Test
+    void commitKeepsSeatsTaken() {
+        givenCourse(10, 2);
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> ledger.reserveUpTo(COURSE_ID, 5));
+
+        assertEquals(7, ledger.getEnrolledCount(COURSE_ID));
+    }
+
+    @Test
+    void unusedReservationIsHandedBackAndRollbackDoesNotOverRelease() {
+        givenCourse(10, 2);
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            ledger.reserveUpTo(COURSE_ID, 5);
+            ledger.returnUnused(COURSE_ID, 2);
+        });
+        assertEquals(5, ledger.getEnrolledCount(COURSE_ID));
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            ledger.reserveUpTo(COURSE_ID, 4);
+            ledger.returnUnused(COURSE_ID, 1);
+            assertEquals(8, ledger.getEnrolledCount(COURSE_ID));
+        });
+        assertEquals(5, ledger.getEnrolledCount(COURSE_ID));
+    }
+
+    @Test
+    void capacityChangeTakesEffectOnlyOnCommit() {
+        givenCourse(10, 0);
+        long[] ids = {COURSE_ID};
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            ledger.updateCapacity(COURSE_ID, 20);
+            assertEquals(10, ledger.getCapacities(ids)[0]);
+        });
+        assertEquals(10, ledger.getCapacities(ids)[0]);
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> ledger.updateCapacity(COURSE_ID, 20));
+        assertEquals(20, ledger.getCapacities(ids)[0]);
+    }
+
+    @Test
+    void failedConditionalUpdateResyncsInPlaceFromTheDatabase() {
+        givenCourse(100, 10);
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            ledger.reserveUpTo(COURSE_ID, 2);
+            // Another node filled the course meanwhile
+            givenCourse(100, 100);
+            when(courseRepository.incrementEnrollmentIfAvailable(COURSE_ID)).thenReturn(0);
+
+            assertFalse(ledger.tryReserve(COURSE_ID));
+            assertEquals(100, ledger.getEnrolledCount(COURSE_ID));
+        });
+
+        // The earlier reservation's rollback still lands on the live counters
+        assertEquals(98, ledger.getEnrolledCount(COURSE_ID));
+    }
+
+    @Test
+    void resyncAfterCommitDropsSeatsTheDatabaseNeverRecorded() {
+        givenCourse(10, 2);
+        when(courseRepository.findSeatCountsByIdIn(List.of(COURSE_ID)))
+                .thenReturn(List.<Object[]>of(new Object[] {COURSE_ID, 10, 5}));
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            // Six seats granted, but only three rows were inserted
+            ledger.reserveUpTo(COURSE_ID, 6);
+            ledger.resyncAfterCommit(List.of(COURSE_ID));
+            assertEquals(8, ledger.getEnrolledCount(COURSE_ID));
+        });
+
+        assertEquals(5, ledger.getEnrolledCount(COURSE_ID));
+    }
+
+    private void givenCourse(int capacity, int enrolled) {
+        when(courseRepository.findSeatCountsById(COURSE_ID))
+                .thenReturn(List.<Object[]>of(new Object[] {capacity, enrolled}));
+    }
+
+    private int sumAcrossThreads(Callable<Integer> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        int sum = 0;
+        for (Future<Integer> result : results) {
+            sum += result.get(30, TimeUnit.SECONDS);
+        }
+        return sum;
+    }
+
+    // Runs the work with transaction synchronization active, then completes it with the given outcome
+    private static void inTransaction(int status, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
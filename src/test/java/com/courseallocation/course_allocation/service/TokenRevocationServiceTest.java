@@ -0,0 +1,86 @@
+package com.courseallocation.course_allocation.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.courseallocation.course_allocation.config.StudentPrincipal;
+import com.courseallocation.course_allocation.config.VerifiedTokenCache;
+import com.courseallocation.course_allocation.repository.RevokedTokenRepository;
+
+class TokenRevocationServiceTest {
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final VerifiedTokenCache verifiedTokenCache = mock(VerifiedTokenCache.class);
+    private final TokenRevocationService service = new TokenRevocationService(revokedTokenRepository,
+            verifiedTokenCache, 3_600_000L, 1000, 0.001, 5000L, 60L);
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        TokenRevocationService.BloomFilter filter = new TokenRevocationService.BloomFilter(100_000, 0.001);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            String tokenId = UUID.randomUUID().toString();
+            filter.put(tokenId);
+            added.add(tokenId);
+        }
+
+        for (String tokenId : added) {
+            assertTrue(filter.mightContain(tokenId), tokenId);
+        }
+    }
+
+    @Test
+    void bloomFilterStaysNearItsFalsePositiveRate() {
+        TokenRevocationService.BloomFilter filter = new TokenRevocationService.BloomFilter(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // 0.1% configured; allow generous slack so the test is not flaky
+        assertTrue(falsePositives < 500, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void studentRevocationCutsOffTokensIssuedBefore() {
+        service.revokeStudent(7L);
+
+        assertTrue(service.isRevoked(principal(7L, "a", Instant.now().minusSeconds(10))));
+        assertFalse(service.isRevoked(principal(7L, "b", Instant.now().plusSeconds(2))));
+        assertFalse(service.isRevoked(principal(8L, "c", Instant.now().minusSeconds(10))));
+        verify(verifiedTokenCache).evictStudent(7L);
+    }
+
+    @Test
+    void tokenRevocationOnlyAffectsThatToken() {
+        when(revokedTokenRepository.existsByTokenId("revoked")).thenReturn(true);
+
+        service.revokeToken(principal(7L, "revoked", Instant.now()), "raw-token");
+
+        assertTrue(service.isRevoked(principal(7L, "revoked", Instant.now())));
+        assertFalse(service.isRevoked(principal(7L, "other", Instant.now())));
+        // A token the filter has never seen is answered without touching the table
+        verify(revokedTokenRepository, never()).existsByTokenId("other");
+        verify(verifiedTokenCache).evict("raw-token");
+    }
+
+    private static StudentPrincipal principal(Long studentId, String tokenId, Instant issuedAt) {
+        return new StudentPrincipal(studentId, "S" + studentId, 1, "CS", 0, null, "STUDENT", tokenId, issuedAt, null);
+    }
+}